@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Compares two JMH JSON results (./mvnw -Pjmh test-compile exec:exec writes target/jmh-result.json)
+# and fails when any benchmark got slower than the allowed percentage.
+# Usage: scripts/jmh-compare.sh baseline.json current.json [max-regression-percent]
+
+if [[ $# -lt 2 ]]; then
+  echo "Usage: $0 baseline.json current.json [max-regression-percent]" >&2
+  exit 2
+fi
+
+python3 - "$1" "$2" "${3:-10}" <<'PY'
+import json, sys
+
+baseline_file, current_file, allowed = sys.argv[1], sys.argv[2], float(sys.argv[3])
+
+def load(path):
+    with open(path) as f:
+        runs = json.load(f)
+    return {(r["benchmark"], r["mode"], json.dumps(r.get("params", {}), sort_keys=True)): r for r in runs}
+
+baseline, current = load(baseline_file), load(current_file)
+regressions = 0
+for key in sorted(current):
+    if key not in baseline:
+        continue
+    name, mode, params = key
+    old = baseline[key]["primaryMetric"]["score"]
+    new = current[key]["primaryMetric"]["score"]
+    unit = current[key]["primaryMetric"]["scoreUnit"]
+    # Throughput is better when higher; every other mode reports time per operation
+    change = (old - new) / old * 100 if mode == "thrpt" else (new - old) / old * 100
+    flag = "REGRESSION" if change > allowed else ""
+    if flag:
+        regressions += 1
+    label = name.rsplit(".", 2)[-2] + "." + name.rsplit(".", 1)[-1]
+    print(f"{label:55} {params if params != '{}' else '':28} {old:14.3f} -> {new:14.3f} {unit:10} {change:+7.1f}% {flag}")
+
+print(f"{regressions} regression(s) above {allowed:g}%")
+sys.exit(1 if regressions else 0)
+PY
@@ -0,0 +1,100 @@
+package com.drapala.rpg.bench;
+
+import com.drapala.rpg.dto.BattleRequest;
+import com.drapala.rpg.dto.BattleResponse;
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.BattleService;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import com.drapala.rpg.service.stats.StatsFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BattleService#battle} between two fresh characters, with and without the rendered log.
+ * Each invocation first stores both fighters back at full HP, so the numbers include two
+ * {@code save} calls; {@link RepositoryBenchmark#save} measures those on their own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BattleBenchmark {
+    private InMemoryCharacterRepository repository;
+    private BattleService battles;
+    private StatsFactory statsFactory;
+
+    @Setup
+    public void setUp() {
+        JobRegistry jobs = JobRegistry.defaults();
+        repository = new InMemoryCharacterRepository();
+        statsFactory = new StatsFactory(jobs);
+        battles = new BattleService(repository, new StatsCalculatorResolver(jobs), new SimpleMeterRegistry());
+    }
+
+    /** One pair of fighters per benchmark thread, so threads do not wait on each other's locks. */
+    @State(Scope.Thread)
+    public static class Fighters {
+        Character attacker;
+        Character defender;
+        BattleRequest withLog;
+        BattleRequest withoutLog;
+
+        @Setup
+        public void setUp(BattleBenchmark bench) {
+            attacker = Character.builder().id(UUID.randomUUID()).name("Bench_Warrior").job(Job.WARRIOR)
+                    .stats(bench.statsFactory.createForJob(Job.WARRIOR)).build();
+            defender = Character.builder().id(UUID.randomUUID()).name("Bench_Thief").job(Job.THIEF)
+                    .stats(bench.statsFactory.createForJob(Job.THIEF)).build();
+            withLog = request(true);
+            withoutLog = request(false);
+        }
+
+        private BattleRequest request(boolean includeLog) {
+            BattleRequest request = new BattleRequest();
+            request.setAttackerId(attacker.getId());
+            request.setDefenderId(defender.getId());
+            request.setIncludeLog(includeLog);
+            return request;
+        }
+    }
+
+    @Benchmark
+    public BattleResponse battleWithLog(Fighters f) {
+        return fight(f, f.withLog);
+    }
+
+    @Benchmark
+    public BattleResponse battleWithoutLog(Fighters f) {
+        return fight(f, f.withoutLog);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BattleResponse battleWithoutLogFourThreads(Fighters f) {
+        return fight(f, f.withoutLog);
+    }
+
+    private BattleResponse fight(Fighters f, BattleRequest request) {
+        repository.save(f.attacker);
+        repository.save(f.defender);
+        return battles.battle(request);
+    }
+}
@@ -0,0 +1,69 @@
+package com.drapala.rpg.bench;
+
+import com.drapala.rpg.dto.CharacterResponse;
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.CharacterQuery;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.CharacterService;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import com.drapala.rpg.service.stats.StatsFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Character to {@link CharacterResponse} conversion, through {@link CharacterService#get} (one
+ * lookup plus the conversion; {@link RepositoryBenchmark#findById} has the lookup alone) and
+ * {@link CharacterService#page} of all 1,000 characters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharacterResponseBenchmark {
+    private static final int CHARACTERS = 1000;
+
+    private CharacterService characters;
+    private UUID id;
+
+    @Setup
+    public void setUp() {
+        JobRegistry jobs = JobRegistry.defaults();
+        characters = new CharacterService(new InMemoryCharacterRepository(), new StatsFactory(jobs), new StatsCalculatorResolver(jobs));
+        Job[] cycle = {Job.WARRIOR, Job.THIEF, Job.MAGE};
+        for (int i = 0; i < CHARACTERS; i++) {
+            CreateCharacterRequest request = new CreateCharacterRequest();
+            request.setName("Bench_" + (char) ('A' + i % 26));
+            request.setJob(cycle[i % cycle.length]);
+            String created = characters.create(request).getId();
+            if (id == null) {
+                id = UUID.fromString(created);
+            }
+        }
+    }
+
+    @Benchmark
+    public CharacterResponse get() {
+        return characters.get(id);
+    }
+
+    @Benchmark
+    public List<CharacterResponse> listThousand() {
+        return characters.page(CharacterQuery.ALL, null, 1000).getItems();
+    }
+}
@@ -0,0 +1,112 @@
+package com.drapala.rpg.bench;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.stats.StatsFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InMemoryCharacterRepository} point reads, updates and full copies at 1K to 10M stored
+ * characters, on one and four threads. Each thread visits stored characters in its own random
+ * order. The 10M case needs several GB of heap; pick sizes with {@code -p size=1000,100000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private InMemoryCharacterRepository repository;
+    private Character[] stored;
+
+    @Setup
+    public void setUp() {
+        StatsFactory statsFactory = new StatsFactory();
+        Job[] jobs = {Job.WARRIOR, Job.THIEF, Job.MAGE};
+        Stats[] base = {statsFactory.createForJob(Job.WARRIOR), statsFactory.createForJob(Job.THIEF), statsFactory.createForJob(Job.MAGE)};
+        SplittableRandom random = new SplittableRandom(42);
+        repository = new InMemoryCharacterRepository();
+        stored = new Character[size];
+        for (int i = 0; i < size; i++) {
+            stored[i] = repository.save(Character.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name("Bench_Hero")
+                    .job(jobs[i % jobs.length])
+                    .stats(base[i % base.length])
+                    .build());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int[] order;
+        private int next;
+
+        @Setup
+        public void setUp(RepositoryBenchmark bench) {
+            int count = Math.min(bench.size, 1 << 20);
+            SplittableRandom random = new SplittableRandom();
+            order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = random.nextInt(bench.size);
+            }
+        }
+
+        int next() {
+            int i = order[next];
+            next = next + 1 == order.length ? 0 : next + 1;
+            return i;
+        }
+    }
+
+    @Benchmark
+    public Optional<Character> findById(Cursor cursor) {
+        return repository.findById(stored[cursor.next()].getId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Character> findByIdFourThreads(Cursor cursor) {
+        return repository.findById(stored[cursor.next()].getId());
+    }
+
+    @Benchmark
+    public Character save(Cursor cursor) {
+        return repository.save(stored[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Character saveFourThreads(Cursor cursor) {
+        return repository.save(stored[cursor.next()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Character> findAll() {
+        return repository.findAll();
+    }
+}
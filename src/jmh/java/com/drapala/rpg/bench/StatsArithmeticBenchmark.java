@@ -0,0 +1,94 @@
+package com.drapala.rpg.bench;
+
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.drapala.rpg.service.stats.MageStatsCalculator;
+import com.drapala.rpg.service.stats.StatsArithmetic;
+import com.drapala.rpg.service.stats.StatsCalculator;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import com.drapala.rpg.service.stats.ThiefStatsCalculator;
+import com.drapala.rpg.service.stats.WarriorStatsCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attack and speed of random characters with the original double calculators, the compiled
+ * formulas in {@code DOUBLE} mode and the compiled formulas in {@code FIXED_POINT} mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatsArithmeticBenchmark {
+    private static final int CHARACTERS = 4096;
+
+    private final Stats[] stats = new Stats[CHARACTERS];
+    private final StatsCalculator[] original = new StatsCalculator[CHARACTERS];
+    private final StatsCalculator[] doubles = new StatsCalculator[CHARACTERS];
+    private final StatsCalculator[] fixedPoint = new StatsCalculator[CHARACTERS];
+
+    @Setup
+    public void setUp() {
+        StatsCalculator[] originals = {new WarriorStatsCalculator(), new ThiefStatsCalculator(), new MageStatsCalculator()};
+        StatsCalculatorResolver doubleResolver = new StatsCalculatorResolver(
+                new JobRegistry(new ClassPathResource("jobs.json"), StatsArithmetic.DOUBLE));
+        StatsCalculatorResolver fixedResolver = new StatsCalculatorResolver(
+                new JobRegistry(new ClassPathResource("jobs.json"), StatsArithmetic.FIXED_POINT));
+        Job[] jobs = {Job.WARRIOR, Job.THIEF, Job.MAGE};
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < CHARACTERS; i++) {
+            Job job = jobs[i % jobs.length];
+            original[i] = originals[i % jobs.length];
+            stats[i] = Stats.builder()
+                    .lifePoints(20)
+                    .strength(random.nextInt(256))
+                    .dexterity(random.nextInt(256))
+                    .intelligence(random.nextInt(256))
+                    .build();
+            doubles[i] = doubleResolver.forJob(job);
+            fixedPoint[i] = fixedResolver.forJob(job);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARACTERS)
+    public long originalCalculators() {
+        return sum(original);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARACTERS)
+    public long compiledDouble() {
+        return sum(doubles);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARACTERS)
+    public long compiledFixedPoint() {
+        return sum(fixedPoint);
+    }
+
+    private long sum(StatsCalculator[] calculators) {
+        long sum = 0;
+        for (int i = 0; i < CHARACTERS; i++) {
+            sum += calculators[i].attack(stats[i]) + calculators[i].speed(stats[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,52 @@
+package com.drapala.rpg.bench;
+
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.drapala.rpg.service.stats.StatsCalculator;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import com.drapala.rpg.service.stats.StatsFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link StatsCalculator#attack} and {@link StatsCalculator#speed} of each job's compiled calculator on its base stats. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatsCalculatorBenchmark {
+    @Param({"WARRIOR", "THIEF", "MAGE"})
+    public String job;
+
+    private StatsCalculator calculator;
+    private Stats stats;
+
+    @Setup
+    public void setUp() {
+        JobRegistry jobs = JobRegistry.defaults();
+        calculator = new StatsCalculatorResolver(jobs).forJob(jobs.job(job));
+        stats = new StatsFactory(jobs).createForJob(jobs.job(job));
+    }
+
+    @Benchmark
+    public int attack() {
+        return calculator.attack(stats);
+    }
+
+    @Benchmark
+    public int speed() {
+        return calculator.speed(stats);
+    }
+}
@@ -0,0 +1,58 @@
+package com.drapala.rpg.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs Spring MVC async work (streamed character exports and live battles) on a bounded
+ * executor. The battle executors make Boot's {@code applicationTaskExecutor} back off, which
+ * would otherwise leave MVC on an unbounded {@link SimpleAsyncTaskExecutor}, one new thread per
+ * stream.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AsyncMvcConfig implements WebMvcConfigurer {
+    private final AsyncTaskExecutor mvcAsyncExecutor;
+
+    public AsyncMvcConfig(@Qualifier("mvcAsyncExecutor") AsyncTaskExecutor mvcAsyncExecutor) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+    }
+
+    /**
+     * Streams are long-lived, so each holds a worker until it ends; further ones wait in the queue
+     * and are rejected with 503 once it is full. With virtual threads a concurrency limit bounds
+     * the streams instead.
+     */
+    @Bean
+    static AsyncTaskExecutor mvcAsyncExecutor(@Value("${rpg.mvc.async.threads:64}") int threads,
+                                              @Value("${rpg.mvc.async.queue-capacity:100}") int queueCapacity,
+                                              Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads + queueCapacity);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+}
@@ -0,0 +1,52 @@
+package com.drapala.rpg.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BattleExecutorConfig {
+
+    /**
+     * Battle workers for batches. With virtual threads active ({@code spring.threads.virtual.enabled}
+     * on Java 21+) every battle gets its own virtual thread and a concurrency limit replaces the
+     * bounded queue; otherwise a fixed pool of platform threads.
+     */
+    @Bean
+    AsyncTaskExecutor battleExecutor(@Value("${rpg.battle.executor.threads:0}") int threads,
+                                     @Value("${rpg.battle.executor.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${rpg.battle.executor.virtual.max-concurrency:10000}") int maxVirtualConcurrency,
+                                     Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("battle-");
+            executor.setVirtualThreads(true);
+            // Submitters block once this many battles are in flight, like CallerRuns on a full queue
+            executor.setConcurrencyLimit(maxVirtualConcurrency);
+            return executor;
+        }
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("battle-");
+        // A full queue pushes work back onto the submitting request thread instead of failing it
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /** CPU-bound simulations stay on platform threads sized to the cores, in either threading mode. */
+    @Bean(destroyMethod = "shutdown")
+    ForkJoinPool battleForkJoinPool(@Value("${rpg.battle.fork-join.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -2,6 +2,7 @@ package com.drapala.rpg.config;
 
 import com.drapala.rpg.dto.CreateCharacterRequest;
 import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.CharacterQuery;
 import com.drapala.rpg.service.CharacterService;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
@@ -15,7 +16,7 @@ public class DevDataSeeder {
     @Bean
     ApplicationRunner seedCharacters(CharacterService characters) {
         return args -> {
-            if (characters.list().isEmpty()) {
+            if (characters.count(CharacterQuery.ALL) == 0) {
                 CreateCharacterRequest w = new CreateCharacterRequest();
                 w.setName("Arthur_Hero");
                 w.setJob(Job.WARRIOR);
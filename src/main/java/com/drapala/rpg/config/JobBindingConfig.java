@@ -0,0 +1,49 @@
+package com.drapala.rpg.config;
+
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+
+import java.io.IOException;
+
+/**
+ * Resolves job names in request bodies and parameters through the {@link JobRegistry}, so jobs
+ * defined only in the job file bind like the built-in ones. Boot applies both beans to MVC and
+ * WebFlux alike.
+ */
+@Configuration
+public class JobBindingConfig {
+
+    @Bean
+    Converter<String, Job> stringToJobConverter(JobRegistry jobs) {
+        // Anonymous rather than a lambda so the converter keeps its generic types
+        return new Converter<String, Job>() {
+            @Override
+            public Job convert(String name) {
+                return jobs.job(name);
+            }
+        };
+    }
+
+    @Bean
+    Module jobModule(JobRegistry jobs) {
+        return new SimpleModule("jobs").addDeserializer(Job.class, new JsonDeserializer<Job>() {
+            @Override
+            public Job deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                String name = p.getValueAsString();
+                try {
+                    return jobs.job(name);
+                } catch (IllegalArgumentException ex) {
+                    throw ctxt.weirdStringException(name, Job.class, ex.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.drapala.rpg.config;
+
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.journal.BattleJournal;
+import com.drapala.rpg.service.journal.CharacterSnapshots;
+import com.drapala.rpg.service.journal.MappedBattleJournal;
+import com.drapala.rpg.service.lock.CharacterLocks;
+import com.drapala.rpg.service.stats.JobRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class JournalConfig {
+
+    @Bean(destroyMethod = "close")
+    CharacterSnapshots characterSnapshots(@Value("${rpg.snapshot.dir:data/snapshots}") String dir,
+                                          @Value("${rpg.snapshot.retained:2}") int retained,
+                                          JobRegistry jobs,
+                                          CharacterLocks locks) {
+        return new CharacterSnapshots(Path.of(dir), retained, jobs, locks);
+    }
+
+    /**
+     * Opens the journal and, for the in-memory store, rebuilds its state before anything is served:
+     * the newest snapshot first, when enabled, then the journal tail written after it.
+     */
+    @Bean(destroyMethod = "close")
+    BattleJournal battleJournal(@Value("${rpg.journal.enabled:false}") boolean enabled,
+                                @Value("${rpg.journal.dir:data/journal}") String dir,
+                                @Value("${rpg.journal.segment-size-mb:64}") int segmentSizeMb,
+                                @Value("${rpg.journal.fsync-interval-ms:100}") long fsyncIntervalMillis,
+                                @Value("${rpg.snapshot.enabled:false}") boolean snapshotsEnabled,
+                                @Value("${rpg.snapshot.interval-seconds:300}") long snapshotIntervalSeconds,
+                                CharacterSnapshots snapshots,
+                                JobRegistry jobs,
+                                ObjectProvider<InMemoryCharacterRepository> memory) throws IOException {
+        if (!enabled) {
+            return BattleJournal.NOOP;
+        }
+        MappedBattleJournal journal = new MappedBattleJournal(Path.of(dir), segmentSizeMb * 1024 * 1024, fsyncIntervalMillis, jobs);
+        InMemoryCharacterRepository repository = memory.getIfAvailable();
+        if (repository != null) {
+            long start = System.nanoTime();
+            long from = snapshotsEnabled ? snapshots.restoreLatest(repository) : 0;
+            long records = journal.replay(from, repository);
+            log.info("Replayed {} journal records from position {} in {} ms",
+                    records, from, (System.nanoTime() - start) / 1_000_000);
+            if (snapshotsEnabled) {
+                snapshots.schedule(repository, journal, snapshotIntervalSeconds);
+            }
+        }
+        return journal;
+    }
+}
@@ -0,0 +1,32 @@
+package com.drapala.rpg.config;
+
+import com.drapala.rpg.repository.JpaCharacterRepository;
+import com.drapala.rpg.repository.WriteBehindCharacterRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Puts the write-behind layer in front of the relational store when
+ * {@code rpg.repository.write-behind.enabled} is set. Off by default: its flushes are unversioned
+ * batch writes, so battle commits then skip the store's version-checked transaction.
+ */
+@Configuration
+@Profile("prod")
+@ConditionalOnProperty(name = "rpg.repository.write-behind.enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    WriteBehindCharacterRepository writeBehindCharacterRepository(
+            JpaCharacterRepository delegate,
+            @Value("${rpg.repository.write-behind.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${rpg.repository.write-behind.batch-size:500}") int batchSize,
+            MeterRegistry meterRegistry) {
+        return new WriteBehindCharacterRepository(delegate, flushIntervalMillis, batchSize, meterRegistry);
+    }
+}
@@ -1,9 +1,23 @@
 package com.drapala.rpg.controller;
 
+import com.drapala.rpg.dto.BattleBatchRequest;
+import com.drapala.rpg.dto.BattleBatchResponse;
+import com.drapala.rpg.dto.BattleEvent;
+import com.drapala.rpg.dto.BattleOddsResponse;
 import com.drapala.rpg.dto.BattleRequest;
 import com.drapala.rpg.dto.BattleResponse;
+import com.drapala.rpg.dto.JobMatchupResponse;
+import com.drapala.rpg.service.BattleBatchService;
 import com.drapala.rpg.service.BattleService;
+import com.drapala.rpg.service.odds.BattleOddsService;
+import com.drapala.rpg.service.odds.OddsMethod;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,16 +25,36 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static com.drapala.rpg.controller.CharacterController.NDJSON;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Battles", description = "Simulate battles with detailed logs")
 @RequestMapping(value = "/api/battles", produces = "application/json")
 public class BattleController {
     private final BattleService battleService;
+    private final BattleBatchService batchService;
+    private final BattleOddsService oddsService;
+    private final ObjectWriter eventWriter;
 
-    public BattleController(BattleService battleService) {
+    public BattleController(BattleService battleService, BattleBatchService batchService, BattleOddsService oddsService,
+                            ObjectMapper objectMapper) {
         this.battleService = battleService;
+        this.batchService = batchService;
+        this.oddsService = oddsService;
+        this.eventWriter = objectMapper.writerFor(BattleEvent.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     @PostMapping
@@ -48,4 +82,95 @@ public class BattleController {
             @Valid @org.springframework.web.bind.annotation.RequestBody BattleRequest request) {
         return battleService.battle(request);
     }
+
+    @PostMapping(value = "/stream", produces = {NDJSON, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(operationId = "streamBattle", summary = "Stream battle",
+            description = "Runs a battle like POST /api/battles but sends each hit as it is simulated: newline-delimited JSON events, or server-sent events when the client accepts text/event-stream. Events are START, one HIT per blow, then END with the committed outcome, or ERROR (CONFLICT) when either character changed during the stream. A stream closed before END changes nothing.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Battle events",
+                    content = @Content(schema = @Schema(implementation = BattleEvent.class))),
+            @ApiResponse(responseCode = "404", description = "Entity not found",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Invalid state (dead/same character)",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> streamBattle(
+            @Valid @org.springframework.web.bind.annotation.RequestBody BattleRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean sse = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        // Participants are checked before the response starts, so those errors keep their status codes
+        Iterator<BattleEvent> events = battleService.stream(request);
+        StreamingResponseBody body = out -> {
+            while (events.hasNext()) {
+                BattleEvent event = events.next();
+                if (sse) {
+                    out.write("data: ".getBytes(StandardCharsets.US_ASCII));
+                    eventWriter.writeValue(out, event);
+                    out.write("\n\n".getBytes(StandardCharsets.US_ASCII));
+                } else {
+                    eventWriter.writeValue(out, event);
+                    out.write('\n');
+                }
+                // Spectators see each hit when it happens; a full socket buffer pauses the fight
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    @PostMapping("/batch")
+    @Operation(operationId = "startBattleBatch", summary = "Start battle batch",
+            description = "Runs many battles in one request. Battles sharing a character run in list order; independent ones run in parallel. Failures are reported per item.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-battle results, in request order",
+                    content = @Content(schema = @Schema(implementation = BattleBatchResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"code\": \"VALIDATION_ERROR\",\n  \"message\": \"Invalid input\",\n  \"details\": {\n    \"battles\": \"At least one battle is required\"\n  },\n  \"timestamp\": \"2025-09-21T12:00:00Z\"\n}")))
+    })
+    public BattleBatchResponse battleBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Battles to run",
+                    content = @Content(
+                            schema = @Schema(implementation = BattleBatchRequest.class),
+                            examples = @ExampleObject(value = "{\n  \"battles\": [\n    {\"attackerId\": \"550e8400-e29b-41d4-a716-446655440000\", \"defenderId\": \"6ba7b810-9dad-11d1-80b4-00c04fd430c8\", \"includeLog\": false}\n  ]\n}")))
+            @Valid @org.springframework.web.bind.annotation.RequestBody BattleBatchRequest request) {
+        return batchService.battle(request.getBattles());
+    }
+
+    @GetMapping("/odds")
+    @Operation(operationId = "battleOdds", summary = "Battle odds",
+            description = "Estimates the attacker's win probability and the expected remaining HP of both sides from the current snapshots, either by simulating battles (MONTE_CARLO) or exactly (EXACT). Nothing is persisted.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estimated odds",
+                    content = @Content(schema = @Schema(implementation = BattleOddsResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Entity not found",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"code\": \"NOT_FOUND\",\n  \"message\": \"Character not found: 550e8400-e29b-41d4-a716-446655440000\",\n  \"timestamp\": \"2025-09-21T12:00:00Z\"\n}"))),
+            @ApiResponse(responseCode = "409", description = "Invalid state (dead/same character, no damage on either side)",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"code\": \"CONFLICT\",\n  \"message\": \"Both characters must be alive to battle\",\n  \"timestamp\": \"2025-09-21T12:00:00Z\"\n}"))),
+            @ApiResponse(responseCode = "422", description = "Validation error, or HP too high for EXACT (MATCHUP_TOO_LARGE)",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"code\": \"VALIDATION_ERROR\",\n  \"message\": \"Invalid input\",\n  \"details\": {\n    \"trials\": \"must be less than or equal to 1000000\"\n  },\n  \"timestamp\": \"2025-09-21T12:00:00Z\"\n}")))
+    })
+    public BattleOddsResponse odds(
+            @Parameter(description = "Attacker ID", example = "550e8400-e29b-41d4-a716-446655440000") @RequestParam UUID attacker,
+            @Parameter(description = "Defender ID", example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8") @RequestParam UUID defender,
+            @Parameter(description = "Number of simulated battles (ignored by EXACT)") @RequestParam(defaultValue = "10000") @Min(1) @Max(1_000_000) int trials,
+            @Parameter(description = "How the odds are computed") @RequestParam(defaultValue = "MONTE_CARLO") OddsMethod method) {
+        return oddsService.odds(attacker, defender, trials, method);
+    }
+
+    @GetMapping("/matchups")
+    @Operation(operationId = "jobMatchups", summary = "Job matchup table",
+            description = "Initiative, damage ranges and exact odds of every job-by-job pairing of fresh characters, computed at startup.")
+    public List<JobMatchupResponse> matchups() {
+        return oddsService.matchups();
+    }
 }
@@ -1,9 +1,19 @@
 package com.drapala.rpg.controller;
 
+import com.drapala.rpg.dto.CharacterCountResponse;
+import com.drapala.rpg.dto.CharacterPage;
 import com.drapala.rpg.dto.CharacterResponse;
 import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.dto.OpponentResponse;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.CharacterQuery;
 import com.drapala.rpg.service.CharacterService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,21 +22,33 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Characters", description = "Create, list, and retrieve characters")
 @RequestMapping(value = "/api/characters", produces = "application/json")
 public class CharacterController {
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+
     private final CharacterService characters;
+    private final ObjectWriter ndjsonWriter;
 
-    public CharacterController(CharacterService characters) {
+    public CharacterController(CharacterService characters, ObjectMapper objectMapper) {
         this.characters = characters;
+        // One value per line on the shared response stream, which must stay open between values
+        this.ndjsonWriter = objectMapper.writerFor(CharacterResponse.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     @PostMapping
@@ -55,9 +77,61 @@ public class CharacterController {
     }
 
     @GetMapping
-    @Operation(operationId = "listCharacters", summary = "List characters", description = "Returns all existing characters")
-    public List<CharacterResponse> list() {
-        return characters.list();
+    @Operation(operationId = "listCharacters", summary = "List characters",
+            description = "Returns one page of characters in ID order, optionally filtered. When more match, the X-Next-Cursor header holds the value to pass as 'after' for the next page. "
+                    + "Without 'limit' a page holds at most 100 characters; this endpoint no longer returns every character at once, so follow the cursor or use /api/characters/stream.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Characters page"),
+            @ApiResponse(responseCode = "422", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"code\": \"VALIDATION_ERROR\",\n  \"message\": \"Invalid input\",\n  \"details\": {\n    \"limit\": \"must be less than or equal to 1000\"\n  },\n  \"timestamp\": \"2025-09-21T12:00:00Z\"\n}")))
+    })
+    public ResponseEntity<List<CharacterResponse>> list(
+            @Parameter(description = "Only this job") @RequestParam(required = false) Job job,
+            @Parameter(description = "Only alive (true) or dead (false) characters") @RequestParam(required = false) Boolean alive,
+            @Parameter(description = "Minimum current HP") @RequestParam(required = false) @Min(0) Integer minHp,
+            @Parameter(description = "Maximum current HP") @RequestParam(required = false) @Min(0) Integer maxHp,
+            @Parameter(description = "Cursor from X-Next-Cursor") @RequestParam(required = false) UUID after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        CharacterPage page = characters.page(query(job, alive, minHp, maxHp), after, limit);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            ok.header(NEXT_CURSOR, page.getNextCursor());
+        }
+        return ok.body(page.getItems());
+    }
+
+    @GetMapping("/count")
+    @Operation(operationId = "countCharacters", summary = "Count characters",
+            description = "Counts the characters matching the same filters as the list endpoint.")
+    public CharacterCountResponse count(
+            @Parameter(description = "Only this job") @RequestParam(required = false) Job job,
+            @Parameter(description = "Only alive (true) or dead (false) characters") @RequestParam(required = false) Boolean alive,
+            @Parameter(description = "Minimum current HP") @RequestParam(required = false) @Min(0) Integer minHp,
+            @Parameter(description = "Maximum current HP") @RequestParam(required = false) @Min(0) Integer maxHp) {
+        return CharacterCountResponse.builder()
+                .count(characters.count(query(job, alive, minHp, maxHp)))
+                .build();
+    }
+
+    @GetMapping(value = "/stream", produces = NDJSON)
+    @Operation(operationId = "streamCharacters", summary = "Stream characters",
+            description = "Streams every matching character as newline-delimited JSON, written as the store is read.")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @Parameter(description = "Only this job") @RequestParam(required = false) Job job,
+            @Parameter(description = "Only alive (true) or dead (false) characters") @RequestParam(required = false) Boolean alive,
+            @Parameter(description = "Minimum current HP") @RequestParam(required = false) @Min(0) Integer minHp,
+            @Parameter(description = "Maximum current HP") @RequestParam(required = false) @Min(0) Integer maxHp) {
+        CharacterQuery query = query(job, alive, minHp, maxHp);
+        StreamingResponseBody body = out -> characters.stream(query, character -> {
+            try {
+                ndjsonWriter.writeValue(out, character);
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @GetMapping("/{id}")
@@ -73,4 +147,25 @@ public class CharacterController {
                                  @PathVariable("id") UUID id) {
         return characters.get(id);
     }
+
+    @GetMapping("/{id}/opponents")
+    @Operation(operationId = "findOpponents", summary = "Find opponents of similar strength",
+            description = "Returns alive characters whose power rating (attack * current HP) is closest to this character's, nearest first.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Opponents, nearest first"),
+            @ApiResponse(responseCode = "404", description = "Entity not found",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Character is dead",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class)))
+    })
+    public List<OpponentResponse> opponents(
+            @Parameter(description = "Character ID", example = "550e8400-e29b-41d4-a716-446655440000") @PathVariable("id") UUID id,
+            @Parameter(description = "Maximum number of opponents") @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit,
+            @Parameter(description = "Maximum rating difference") @RequestParam(required = false) @Min(0) Long maxGap) {
+        return characters.opponents(id, limit, maxGap != null ? maxGap : Long.MAX_VALUE);
+    }
+
+    private static CharacterQuery query(Job job, Boolean alive, Integer minHp, Integer maxHp) {
+        return CharacterQuery.builder().job(job).alive(alive).minHp(minHp).maxHp(maxHp).build();
+    }
 }
@@ -0,0 +1,45 @@
+package com.drapala.rpg.controller;
+
+import com.drapala.rpg.dto.MatchmakingRequest;
+import com.drapala.rpg.dto.MatchmakingTicket;
+import com.drapala.rpg.service.matchmaking.MatchmakingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Matchmaking", description = "Queue characters for automatically paired battles")
+@RequestMapping(value = "/api/matchmaking", produces = "application/json")
+public class MatchmakingController {
+    private final MatchmakingService matchmaking;
+
+    public MatchmakingController(MatchmakingService matchmaking) {
+        this.matchmaking = matchmaking;
+    }
+
+    @PostMapping("/enqueue")
+    @Operation(operationId = "enqueueForMatch", summary = "Queue for a match",
+            description = "Queues a character; the next pairing tick matches it with a waiting character of similar power rating and runs the battle.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Queued",
+                    content = @Content(schema = @Schema(implementation = MatchmakingTicket.class))),
+            @ApiResponse(responseCode = "404", description = "Entity not found",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Dead or already queued",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class)))
+    })
+    public ResponseEntity<MatchmakingTicket> enqueue(@Valid @RequestBody MatchmakingRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(matchmaking.enqueue(request.getCharacterId()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.drapala.rpg.controller;
+
+import com.drapala.rpg.dto.BattleBatchRequest;
+import com.drapala.rpg.dto.BattleBatchResponse;
+import com.drapala.rpg.dto.BattleEvent;
+import com.drapala.rpg.dto.BattleOddsResponse;
+import com.drapala.rpg.dto.BattleRequest;
+import com.drapala.rpg.dto.BattleResponse;
+import com.drapala.rpg.dto.JobMatchupResponse;
+import com.drapala.rpg.service.BattleBatchService;
+import com.drapala.rpg.service.BattleService;
+import com.drapala.rpg.service.odds.BattleOddsService;
+import com.drapala.rpg.service.odds.OddsMethod;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+
+import static com.drapala.rpg.controller.CharacterController.NDJSON;
+
+/**
+ * The battle API of {@link BattleController} on WebFlux (profile {@code reactive}). Battles take
+ * character locks and odds can simulate for a while, so both run off the event loop.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/api/battles", produces = "application/json")
+public class ReactiveBattleController {
+    private final BattleService battleService;
+    private final BattleBatchService batchService;
+    private final BattleOddsService oddsService;
+
+    public ReactiveBattleController(BattleService battleService, BattleBatchService batchService, BattleOddsService oddsService) {
+        this.battleService = battleService;
+        this.batchService = batchService;
+        this.oddsService = oddsService;
+    }
+
+    @PostMapping
+    public Mono<BattleResponse> battle(@Valid @RequestBody BattleRequest request) {
+        return Mono.fromCallable(() -> battleService.battle(request)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** Events are simulated as the client requests them, so a slow spectator slows the fight, not memory. */
+    @PostMapping(value = "/stream", produces = {NDJSON, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<BattleEvent> streamBattle(@Valid @RequestBody BattleRequest request) {
+        return Mono.fromCallable(() -> battleService.stream(request))
+                .flatMapMany(events -> Flux.fromIterable(() -> events))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping("/batch")
+    public Mono<BattleBatchResponse> battleBatch(@Valid @RequestBody BattleBatchRequest request) {
+        return Mono.fromCallable(() -> batchService.battle(request.getBattles())).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/odds")
+    public Mono<BattleOddsResponse> odds(
+            @RequestParam UUID attacker,
+            @RequestParam UUID defender,
+            @RequestParam(defaultValue = "10000") @Min(1) @Max(1_000_000) int trials,
+            @RequestParam(defaultValue = "MONTE_CARLO") OddsMethod method) {
+        return Mono.fromCallable(() -> oddsService.odds(attacker, defender, trials, method))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** The first call builds the exact-odds table, so it runs off the event loop like the other blocking calls. */
+    @GetMapping("/matchups")
+    public Flux<JobMatchupResponse> matchups() {
+        return Mono.fromCallable(oddsService::matchups)
+                .flatMapIterable(matchups -> matchups)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,116 @@
+package com.drapala.rpg.controller;
+
+import com.drapala.rpg.dto.CharacterCountResponse;
+import com.drapala.rpg.dto.CharacterResponse;
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.dto.OpponentResponse;
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.CharacterQuery;
+import com.drapala.rpg.repository.ReactiveCharacterRepository;
+import com.drapala.rpg.service.CharacterService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import static com.drapala.rpg.controller.CharacterController.NDJSON;
+import static com.drapala.rpg.controller.CharacterController.NEXT_CURSOR;
+
+/**
+ * The character API of {@link CharacterController} on WebFlux (profile {@code reactive}), with the
+ * same paths, parameters and responses. Reads go through the {@link ReactiveCharacterRepository};
+ * creation keeps the {@link CharacterService} rules and runs off the event loop.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/api/characters", produces = "application/json")
+public class ReactiveCharacterController {
+    private final CharacterService characters;
+    private final ReactiveCharacterRepository repository;
+
+    public ReactiveCharacterController(CharacterService characters, ReactiveCharacterRepository repository) {
+        this.characters = characters;
+        this.repository = repository;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<CharacterResponse>> create(@Valid @RequestBody CreateCharacterRequest request) {
+        return Mono.fromCallable(() -> characters.create(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(res -> ResponseEntity.status(HttpStatus.CREATED).body(res));
+    }
+
+    /** One page, read as a {@code limit + 1} element slice of the character flux to tell whether more follow. */
+    @GetMapping
+    public Mono<ResponseEntity<List<CharacterResponse>>> list(
+            @RequestParam(required = false) Job job,
+            @RequestParam(required = false) Boolean alive,
+            @RequestParam(required = false) @Min(0) Integer minHp,
+            @RequestParam(required = false) @Min(0) Integer maxHp,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return repository.findAll(query(job, alive, minHp, maxHp), after, limit + 1)
+                .take(limit + 1L, true)
+                .collectList()
+                .map(found -> {
+                    boolean more = found.size() > limit;
+                    List<Character> items = more ? found.subList(0, limit) : found;
+                    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                    if (more) {
+                        ok.header(NEXT_CURSOR, items.get(limit - 1).getId().toString());
+                    }
+                    return ok.body(items.stream().map(characters::toResponse).toList());
+                });
+    }
+
+    @GetMapping("/count")
+    public Mono<CharacterCountResponse> count(
+            @RequestParam(required = false) Job job,
+            @RequestParam(required = false) Boolean alive,
+            @RequestParam(required = false) @Min(0) Integer minHp,
+            @RequestParam(required = false) @Min(0) Integer maxHp) {
+        return repository.count(query(job, alive, minHp, maxHp))
+                .map(count -> CharacterCountResponse.builder().count(count).build());
+    }
+
+    /** Every match as newline-delimited JSON; the store is read only as fast as the client consumes. */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public Flux<CharacterResponse> stream(
+            @RequestParam(required = false) Job job,
+            @RequestParam(required = false) Boolean alive,
+            @RequestParam(required = false) @Min(0) Integer minHp,
+            @RequestParam(required = false) @Min(0) Integer maxHp) {
+        return repository.findAll(query(job, alive, minHp, maxHp), null).map(characters::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<CharacterResponse> get(@PathVariable("id") UUID id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Character not found: " + id)))
+                .map(characters::toResponse);
+    }
+
+    @GetMapping("/{id}/opponents")
+    public Mono<List<OpponentResponse>> opponents(
+            @PathVariable("id") UUID id,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit,
+            @RequestParam(required = false) @Min(0) Long maxGap) {
+        return Mono.fromCallable(() -> characters.opponents(id, limit, maxGap != null ? maxGap : Long.MAX_VALUE))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static CharacterQuery query(Job job, Boolean alive, Integer minHp, Integer maxHp) {
+        return CharacterQuery.builder().job(job).alive(alive).minHp(minHp).maxHp(maxHp).build();
+    }
+}
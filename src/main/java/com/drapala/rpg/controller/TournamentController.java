@@ -0,0 +1,54 @@
+package com.drapala.rpg.controller;
+
+import com.drapala.rpg.dto.TournamentRequest;
+import com.drapala.rpg.dto.TournamentResponse;
+import com.drapala.rpg.service.tournament.TournamentService;
+import jakarta.validation.Valid;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Tournaments", description = "Run round-robin and single-elimination tournaments")
+@RequestMapping(value = "/api/tournaments", produces = "application/json")
+public class TournamentController {
+    private final TournamentService tournaments;
+
+    public TournamentController(TournamentService tournaments) {
+        this.tournaments = tournaments;
+    }
+
+    @PostMapping
+    @Operation(operationId = "runTournament", summary = "Run tournament",
+            description = "Runs an exhibition tournament between the given characters and returns standings, winner and timing. Character state is not changed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tournament result",
+                    content = @Content(schema = @Schema(implementation = TournamentResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Entity not found",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"code\": \"NOT_FOUND\",\n  \"message\": \"Character not found: 550e8400-e29b-41d4-a716-446655440000\",\n  \"timestamp\": \"2025-09-21T12:00:00Z\"\n}"))),
+            @ApiResponse(responseCode = "409", description = "Invalid state (dead/duplicate entrant)",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"code\": \"CONFLICT\",\n  \"message\": \"Tournament entrants must be alive\",\n  \"timestamp\": \"2025-09-21T12:00:00Z\"\n}"))),
+            @ApiResponse(responseCode = "422", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = com.drapala.rpg.dto.ErrorResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"code\": \"VALIDATION_ERROR\",\n  \"message\": \"Invalid input\",\n  \"details\": {\n    \"characterIds\": \"A tournament needs 2-1024 entrants\"\n  },\n  \"timestamp\": \"2025-09-21T12:00:00Z\"\n}")))
+    })
+    public TournamentResponse run(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Entrants and format",
+                    content = @Content(
+                            schema = @Schema(implementation = TournamentRequest.class),
+                            examples = @ExampleObject(value = "{\n  \"characterIds\": [\"550e8400-e29b-41d4-a716-446655440000\", \"6ba7b810-9dad-11d1-80b4-00c04fd430c8\"],\n  \"format\": \"SINGLE_ELIMINATION\"\n}")))
+            @Valid @RequestBody TournamentRequest request) {
+        return tournaments.run(request.getCharacterIds(), request.getFormat());
+    }
+}
@@ -0,0 +1,18 @@
+package com.drapala.rpg.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BattleBatchItem {
+    @Schema(example = "0", description = "Position of the battle in the request")
+    int index;
+    @Schema(example = "OK", description = "OK, NOT_FOUND, CONFLICT or INTERNAL_ERROR")
+    String status;
+    BattleResponse result;
+    ErrorResponse error;
+}
@@ -0,0 +1,20 @@
+package com.drapala.rpg.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BattleBatchRequest {
+    @NotEmpty(message = "At least one battle is required")
+    @Size(max = 1000, message = "A batch may contain at most 1000 battles")
+    @Schema(description = "Battles to run; pairs sharing a character run in list order")
+    private List<@NotNull @Valid BattleRequest> battles;
+}
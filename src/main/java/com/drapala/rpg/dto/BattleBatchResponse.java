@@ -0,0 +1,12 @@
+package com.drapala.rpg.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BattleBatchResponse {
+    List<BattleBatchItem> results;
+}
@@ -0,0 +1,37 @@
+package com.drapala.rpg.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * One event of a streamed battle: {@code START}, then one {@code HIT} per blow, then {@code END}
+ * with the committed outcome, or {@code ERROR} when the outcome could not be committed.
+ * {@code message} is the matching line of {@link BattleResponse#getBattleLog()}.
+ */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BattleEvent {
+    public enum Type { START, HIT, END, ERROR }
+
+    @Schema(example = "HIT")
+    Type type;
+    @Schema(example = "Arthur_Hero attacks Merlin_Mage for 7 damage, Merlin_Mage has 5 HP remaining.")
+    String message;
+    @Schema(description = "1-based hit number", example = "1")
+    Integer hit;
+    @Schema(example = "550e8400-e29b-41d4-a716-446655440000")
+    String strikerId;
+    @Schema(example = "7")
+    Integer damage;
+    @Schema(description = "Target HP after the hit", example = "5")
+    Integer remainingHp;
+    @Schema(example = "550e8400-e29b-41d4-a716-446655440000")
+    String winnerId;
+    @Schema(example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8")
+    String loserId;
+    @Schema(description = "Error code of an ERROR event", example = "CONFLICT")
+    String code;
+}
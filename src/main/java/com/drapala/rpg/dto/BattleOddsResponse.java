@@ -0,0 +1,31 @@
+package com.drapala.rpg.dto;
+
+import com.drapala.rpg.service.odds.OddsMethod;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BattleOddsResponse {
+    @Schema(example = "550e8400-e29b-41d4-a716-446655440000")
+    String attackerId;
+    @Schema(example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8")
+    String defenderId;
+    @Schema(example = "MONTE_CARLO")
+    OddsMethod method;
+    @Schema(description = "Simulated battles; absent when the odds are not sampled", example = "10000")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Integer trials;
+    @Schema(example = "0.6312")
+    double attackerWinProbability;
+    @Schema(example = "0.3688")
+    double defenderWinProbability;
+    @Schema(description = "Expected attacker HP after the battle (0 when it loses)", example = "5.42")
+    double expectedAttackerHp;
+    @Schema(description = "Expected defender HP after the battle (0 when it loses)", example = "2.17")
+    double expectedDefenderHp;
+    @Schema(example = "850")
+    long elapsedMicros;
+}
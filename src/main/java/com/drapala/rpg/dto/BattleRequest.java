@@ -16,4 +16,6 @@ public class BattleRequest {
     @NotNull
     @Schema(example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8")
     private UUID defenderId;
+    @Schema(description = "Render the turn-by-turn battle log in the response", defaultValue = "true")
+    private boolean includeLog = true;
 }
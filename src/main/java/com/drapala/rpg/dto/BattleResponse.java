@@ -1,5 +1,6 @@
 package com.drapala.rpg.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Value;
 
@@ -10,6 +11,7 @@ import java.util.List;
 public class BattleResponse {
     String winnerId;
     String loserId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     List<String> battleLog;
 }
 
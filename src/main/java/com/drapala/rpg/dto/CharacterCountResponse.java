@@ -0,0 +1,10 @@
+package com.drapala.rpg.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class CharacterCountResponse {
+    long count;
+}
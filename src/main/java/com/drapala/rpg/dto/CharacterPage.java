@@ -0,0 +1,14 @@
+package com.drapala.rpg.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class CharacterPage {
+    List<CharacterResponse> items;
+    /** ID to pass as {@code after} for the next page; {@code null} on the last page. */
+    String nextCursor;
+}
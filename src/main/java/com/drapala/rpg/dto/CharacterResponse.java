@@ -12,7 +12,7 @@ public class CharacterResponse {
     String id;
     @Schema(example = "Arthur_Hero")
     String name;
-    @Schema(example = "WARRIOR")
+    @Schema(type = "string", example = "WARRIOR")
     Job job;
     @Schema(example = "true")
     boolean alive;
@@ -19,6 +19,6 @@ public class CreateCharacterRequest {
     private String name;
 
     @NotNull(message = "Job is required")
-    @Schema(example = "WARRIOR")
+    @Schema(type = "string", example = "WARRIOR")
     private Job job;
 }
@@ -0,0 +1,33 @@
+package com.drapala.rpg.dto;
+
+import com.drapala.rpg.model.Job;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobMatchupResponse {
+    @Schema(type = "string", example = "WARRIOR")
+    Job attackerJob;
+    @Schema(type = "string", example = "THIEF")
+    Job defenderJob;
+    @Schema(description = "Whether the attacker strikes first", example = "false")
+    boolean attackerFirst;
+    @Schema(example = "4")
+    int attackerMinDamage;
+    @Schema(example = "9")
+    int attackerMaxDamage;
+    @Schema(example = "5")
+    int defenderMinDamage;
+    @Schema(example = "10")
+    int defenderMaxDamage;
+    @Schema(description = "Exact odds at full HP; absent when neither side can deal damage", example = "0.5123")
+    Double attackerWinProbability;
+    @Schema(example = "6.8")
+    Double expectedAttackerHp;
+    @Schema(example = "3.1")
+    Double expectedDefenderHp;
+}
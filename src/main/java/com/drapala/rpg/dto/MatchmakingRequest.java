@@ -0,0 +1,16 @@
+package com.drapala.rpg.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class MatchmakingRequest {
+    @NotNull
+    @Schema(example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID characterId;
+}
@@ -0,0 +1,14 @@
+package com.drapala.rpg.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class MatchmakingTicket {
+    @Schema(example = "550e8400-e29b-41d4-a716-446655440000")
+    String characterId;
+    @Schema(example = "42", description = "Characters waiting for a match, this one included")
+    int queueSize;
+}
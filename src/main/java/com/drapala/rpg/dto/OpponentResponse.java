@@ -0,0 +1,15 @@
+package com.drapala.rpg.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class OpponentResponse {
+    CharacterResponse character;
+    @Schema(example = "180", description = "attack * current HP")
+    long powerRating;
+    @Schema(example = "12", description = "Absolute rating difference to the requested character")
+    long ratingGap;
+}
@@ -0,0 +1,24 @@
+package com.drapala.rpg.dto;
+
+import com.drapala.rpg.model.TournamentFormat;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class TournamentRequest {
+    @NotNull(message = "Entrants are required")
+    @Size(min = 2, max = 1024, message = "A tournament needs 2-1024 entrants")
+    @Schema(description = "Entrant IDs in seed order (first = top seed)")
+    private List<@NotNull UUID> characterIds;
+
+    @NotNull(message = "Format is required")
+    @Schema(example = "SINGLE_ELIMINATION")
+    private TournamentFormat format;
+}
@@ -0,0 +1,24 @@
+package com.drapala.rpg.dto;
+
+import com.drapala.rpg.model.TournamentFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class TournamentResponse {
+    @Schema(example = "SINGLE_ELIMINATION")
+    TournamentFormat format;
+    @Schema(example = "550e8400-e29b-41d4-a716-446655440000")
+    String winnerId;
+    List<TournamentStanding> standings;
+    @Schema(example = "10")
+    int rounds;
+    @Schema(example = "1023")
+    int matches;
+    @Schema(example = "12")
+    long elapsedMillis;
+}
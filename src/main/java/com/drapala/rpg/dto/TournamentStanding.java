@@ -0,0 +1,20 @@
+package com.drapala.rpg.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TournamentStanding {
+    @Schema(example = "1")
+    int rank;
+    @Schema(example = "550e8400-e29b-41d4-a716-446655440000")
+    String characterId;
+    @Schema(example = "Arthur_Hero")
+    String name;
+    @Schema(example = "3")
+    int wins;
+    @Schema(example = "0")
+    int losses;
+}
@@ -1,11 +1,14 @@
 package com.drapala.rpg.exception;
 
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -24,11 +27,40 @@ public class GlobalExceptionHandler {
         return envelope(HttpStatus.UNPROCESSABLE_ENTITY, "VALIDATION_ERROR", "Invalid input", details);
     }
 
+    /** The WebFlux counterpart of {@link MethodArgumentNotValidException} for an invalid request body. */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleReactiveValidation(WebExchangeBindException ex) {
+        Map<String, String> details = new HashMap<>();
+        for (FieldError fe : ex.getBindingResult().getFieldErrors()) {
+            details.put(fe.getField(), fe.getDefaultMessage());
+        }
+        return envelope(HttpStatus.UNPROCESSABLE_ENTITY, "VALIDATION_ERROR", "Invalid input", details);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Object> handleParameterValidation(HandlerMethodValidationException ex) {
+        Map<String, String> details = new HashMap<>();
+        ex.getParameterValidationResults().forEach(result -> result.getResolvableErrors().forEach(error ->
+                details.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage())));
+        return envelope(HttpStatus.UNPROCESSABLE_ENTITY, "VALIDATION_ERROR", "Invalid input", details);
+    }
+
+    @ExceptionHandler(MatchupTooLargeException.class)
+    public ResponseEntity<Object> handleMatchupTooLarge(MatchupTooLargeException ex) {
+        return envelope(HttpStatus.UNPROCESSABLE_ENTITY, "MATCHUP_TOO_LARGE", ex.getMessage(), null);
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<Object> handleNotFound(NoSuchElementException ex) {
         return envelope(HttpStatus.NOT_FOUND, "NOT_FOUND", ex.getMessage() != null ? ex.getMessage() : "Resource not found", null);
     }
 
+    /** The bounded MVC async executor is full: every stream worker is busy and the queue is too. */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Object> handleRejected(TaskRejectedException ex) {
+        return envelope(HttpStatus.SERVICE_UNAVAILABLE, "BUSY", "Too many concurrent streams, retry later", null);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Object> handleConflict(IllegalStateException ex) {
         return envelope(HttpStatus.CONFLICT, "CONFLICT", ex.getMessage(), null);
@@ -0,0 +1,8 @@
+package com.drapala.rpg.exception;
+
+/** The characters' HP are too high to compute exact odds within the calculator's memory bound. */
+public class MatchupTooLargeException extends RuntimeException {
+    public MatchupTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.drapala.rpg.health;
 
+import com.drapala.rpg.repository.CharacterQuery;
 import com.drapala.rpg.repository.CharacterRepository;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -17,7 +18,7 @@ public class CharacterRepositoryHealthIndicator implements HealthIndicator {
 
     @Override
     public Health health() {
-        int count = repository.findAll().size();
+        long count = repository.count(CharacterQuery.ALL);
         return Health.up().withDetail("characters", count).build();
     }
 }
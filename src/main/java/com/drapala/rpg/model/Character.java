@@ -1,14 +1,18 @@
 package com.drapala.rpg.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.ToString;
 import lombok.Builder;
 
 import java.util.UUID;
+import java.util.function.Function;
 
+/**
+ * Immutable, versioned snapshot of a character. State changes produce a new snapshot through the
+ * {@code with*} methods; the repository assigns versions when a snapshot is stored.
+ */
 @Getter
-@Setter
 @ToString
 public class Character {
     private final UUID id;
@@ -16,8 +20,18 @@ public class Character {
     private final Job job;
     private final Stats stats;
 
-    private int currentLifePoints;
-    private boolean alive;
+    private final int currentLifePoints;
+    private final boolean alive;
+    private final long version;
+
+    /**
+     * Memo of values derived from job and stats alone. Both are fixed for a character, so every
+     * {@code with*} copy shares it; a racy first fill is harmless because any thread computes the
+     * same immutable value.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private DerivedStats derived;
 
     @Builder
     public Character(UUID id, String name, Job job, Stats stats) {
@@ -30,6 +44,38 @@ public class Character {
         this.stats = stats.validate();
         this.currentLifePoints = stats.getLifePoints();
         this.alive = true;
+        this.version = 0L;
+    }
+
+    private Character(Character source, int currentLifePoints, boolean alive, long version) {
+        this.id = source.id;
+        this.name = source.name;
+        this.job = source.job;
+        this.stats = source.stats;
+        this.currentLifePoints = currentLifePoints;
+        this.alive = alive;
+        this.version = version;
+        this.derived = source.derived;
+    }
+
+    /** The memoized derived stats, computing them with {@code compute} on first use. */
+    public DerivedStats derived(Function<Character, DerivedStats> compute) {
+        DerivedStats d = derived;
+        if (d == null) {
+            d = compute.apply(this);
+            derived = d;
+        }
+        return d;
+    }
+
+    public Character withLifePoints(int currentLifePoints, boolean alive) {
+        if (currentLifePoints < 0) {
+            throw new IllegalArgumentException("Life points must be non-negative");
+        }
+        return new Character(this, currentLifePoints, alive, version);
     }
-}
 
+    public Character withVersion(long version) {
+        return version == this.version ? this : new Character(this, currentLifePoints, alive, version);
+    }
+}
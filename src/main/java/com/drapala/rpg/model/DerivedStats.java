@@ -0,0 +1,10 @@
+package com.drapala.rpg.model;
+
+import lombok.Value;
+
+/** Job-specific values computed from a character's stats. */
+@Value
+public class DerivedStats {
+    int attack;
+    int speed;
+}
@@ -1,8 +1,95 @@
 package com.drapala.rpg.model;
 
-public enum Job {
-    WARRIOR,
-    THIEF,
-    MAGE
-}
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A character class. Jobs are defined in data (see {@code JobRegistry}), and each registry interns
+ * its jobs in a {@link Catalog}, so jobs of one registry compare with {@code ==} and
+ * {@link #ordinal()} can index per-job arrays. The three original jobs are declared here because
+ * code and clients refer to them by name; every catalog starts with them at ordinals 0-2, and
+ * their base stats and formulas still come from the job definitions.
+ */
+public final class Job {
+    public static final Job WARRIOR = new Job("WARRIOR", 0);
+    public static final Job THIEF = new Job("THIEF", 1);
+    public static final Job MAGE = new Job("MAGE", 2);
+
+    private static final List<Job> BUILT_IN = List.of(WARRIOR, THIEF, MAGE);
+
+    private final String name;
+    private final int ordinal;
+
+    private Job(String name, int ordinal) {
+        this.name = name;
+        this.ordinal = ordinal;
+    }
+
+    /** The built-in job called {@code name}; jobs defined only in data resolve through their registry. */
+    @JsonCreator
+    public static Job valueOf(String name) {
+        for (Job job : BUILT_IN) {
+            if (job.name.equals(name)) {
+                return job;
+            }
+        }
+        throw new IllegalArgumentException("Unknown job: " + name);
+    }
+
+    @JsonValue
+    public String name() {
+        return name;
+    }
 
+    public int ordinal() {
+        return ordinal;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * The jobs of one registry, the built-in ones first. Filled while the registry loads and only
+     * read afterwards, so it is not synchronized.
+     */
+    public static final class Catalog {
+        private final Map<String, Job> byName = new HashMap<>();
+        private final List<Job> jobs = new ArrayList<>(BUILT_IN);
+
+        public Catalog() {
+            BUILT_IN.forEach(job -> byName.put(job.name, job));
+        }
+
+        /** The job called {@code name}, created with the next ordinal if it does not exist yet. */
+        public Job register(String name) {
+            return byName.computeIfAbsent(name, n -> {
+                Job job = new Job(n, jobs.size());
+                jobs.add(job);
+                return job;
+            });
+        }
+
+        public Job valueOf(String name) {
+            Job job = name == null ? null : byName.get(name);
+            if (job == null) {
+                throw new IllegalArgumentException("Unknown job: " + name);
+            }
+            return job;
+        }
+
+        public Job ofOrdinal(int ordinal) {
+            return jobs.get(ordinal);
+        }
+
+        public int count() {
+            return jobs.size();
+        }
+    }
+}
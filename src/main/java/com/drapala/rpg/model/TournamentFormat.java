@@ -0,0 +1,6 @@
+package com.drapala.rpg.model;
+
+public enum TournamentFormat {
+    ROUND_ROBIN,
+    SINGLE_ELIMINATION
+}
@@ -0,0 +1,25 @@
+package com.drapala.rpg.repository;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import lombok.Builder;
+import lombok.Value;
+
+/** Character filter pushed down into the repository; {@code null} fields match everything. */
+@Value
+@Builder
+public class CharacterQuery {
+    public static final CharacterQuery ALL = CharacterQuery.builder().build();
+
+    Job job;
+    Boolean alive;
+    Integer minHp;
+    Integer maxHp;
+
+    public boolean matches(Character c) {
+        return (job == null || job == c.getJob())
+                && (alive == null || alive == c.isAlive())
+                && (minHp == null || c.getCurrentLifePoints() >= minHp)
+                && (maxHp == null || c.getCurrentLifePoints() <= maxHp);
+    }
+}
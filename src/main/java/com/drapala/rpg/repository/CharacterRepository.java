@@ -2,13 +2,74 @@ package com.drapala.rpg.repository;
 
 import com.drapala.rpg.model.Character;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface CharacterRepository {
     Character save(Character character);
     Optional<Character> findById(UUID id);
     List<Character> findAll();
-}
 
+    /**
+     * Stores {@code newState} only if the stored snapshot of the same character still has
+     * {@code expectedVersion}; the stored copy gets {@code expectedVersion + 1}.
+     */
+    boolean compareAndSet(long expectedVersion, Character newState);
+
+    /**
+     * Up to {@code limit} characters matching {@code query} in ID order, starting right after
+     * {@code after} ({@code null} for the first page). The order is stable per implementation.
+     */
+    List<Character> findPage(CharacterQuery query, UUID after, int limit);
+
+    default List<Character> findPage(UUID after, int limit) {
+        return findPage(CharacterQuery.ALL, after, limit);
+    }
+
+    /**
+     * Visits every character matching {@code query} without materializing them all; the order is
+     * up to the implementation. The default walks keyset pages.
+     */
+    default void forEach(CharacterQuery query, Consumer<Character> action) {
+        int pageSize = 1000;
+        List<Character> page = findPage(query, null, pageSize);
+        while (!page.isEmpty()) {
+            page.forEach(action);
+            if (page.size() < pageSize) {
+                return;
+            }
+            page = findPage(query, page.get(page.size() - 1).getId(), pageSize);
+        }
+    }
+
+    /** Number of characters matching {@code query}. The default visits every match. */
+    default long count(CharacterQuery query) {
+        long[] count = new long[1];
+        forEach(query, c -> count[0]++);
+        return count[0];
+    }
+
+    default void saveAll(Collection<Character> characters) {
+        characters.forEach(this::save);
+    }
+
+    /**
+     * Commits both new states only if both stored snapshots still have the versions of
+     * {@code first} and {@code second}. The default is atomic only while the caller holds both
+     * characters' locks; it reverts the first update when the second one fails.
+     */
+    default boolean compareAndSetBoth(Character first, Character firstAfter, Character second, Character secondAfter) {
+        if (!compareAndSet(first.getVersion(), firstAfter)) {
+            return false;
+        }
+        if (!compareAndSet(second.getVersion(), secondAfter)) {
+            // Revert the first so a half-applied update does not persist
+            compareAndSet(first.getVersion() + 1, first);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,533 @@
+package com.drapala.rpg.repository;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.drapala.rpg.service.stats.StatsCalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Store for the {@code columnar} profile that keeps characters as rows of primitive columns
+ * instead of object graphs: two longs of ID, an unsigned byte per attribute, an unsigned short each for maximum and current HP, a version, a
+ * packed job/alive byte, the derived attack and speed, and a slice of a shared UTF-8 name arena. An open-addressing table, at
+ * most three quarters full, maps IDs to rows. {@link Character} snapshots are only built when a caller asks for one, and filters run on
+ * the columns, so counts and non-matching rows allocate nothing. Snapshots carry the stored attack and speed as their
+ * derived stats memo, so battles read them without recomputing.
+ *
+ * <p>Rows are guarded by {@value #STRIPES} {@link StampedLock} stripes picked by ID hash. Updates of an existing
+ * row take the write side of its stripe, and a pair commit takes both stripes in index order, so commits
+ * on unrelated characters run in parallel. Appends touch the shared ID table and name arena, and may
+ * replace every array, so they take every stripe. Point reads are optimistic on their stripe and
+ * fall back to its read lock when a write overlapped. Scans take every read lock one chunk of rows at a time.
+ * Characters are never removed, so rows are appended and never move.
+ */
+@Repository
+@Profile("columnar")
+public class ColumnarCharacterRepository implements CharacterRepository {
+    /** Slots of the first ID table; row capacity is three quarters of the table size. */
+    private static final int INITIAL_TABLE_SIZE = 1024;
+    private static final int STRIPES = 64;
+    private static final int MAX_LIFE_POINTS = 0xFFFF;
+    private static final int MAX_ATTRIBUTE = 0xFF;
+    private static final int MAX_NAME_BYTES = 0xFF;
+    private static final int SCAN_CHUNK = 1024;
+    private static final int ALIVE = 0x80;
+    private static final Comparator<Row> BY_ID = Comparator.comparingLong((Row r) -> r.idHi).thenComparingLong(r -> r.idLo);
+
+    private final StampedLock[] stripes = new StampedLock[STRIPES];
+    /** Replaced wholesale on growth, under every stripe, so an optimistic reader always sees one consistent set of arrays. */
+    private Columns cols;
+
+    public ColumnarCharacterRepository() {
+        this(JobRegistry.defaults());
+    }
+
+    /** Job ordinals are stored in the rows, so jobs must come from {@code jobs}. */
+    @Autowired
+    public ColumnarCharacterRepository(JobRegistry jobs) {
+        this.cols = new Columns(jobs, INITIAL_TABLE_SIZE, INITIAL_TABLE_SIZE * 8);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new StampedLock();
+        }
+    }
+
+    /** Updates an existing row under its stripe; a new character is appended under every stripe. */
+    @Override
+    public Character save(Character character) {
+        StampedLock stripe = stripes[stripe(character.getId())];
+        long stamp = stripe.writeLock();
+        try {
+            int row = find(cols, character.getId());
+            if (row >= 0) {
+                return update(row, character);
+            }
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+        long[] stamps = writeLockAll();
+        try {
+            int row = find(cols, character.getId());
+            if (row >= 0) {
+                return update(row, character);
+            }
+            append(character);
+            return character;
+        } finally {
+            unlockWriteAll(stamps);
+        }
+    }
+
+    @Override
+    public Optional<Character> findById(UUID id) {
+        StampedLock stripe = stripes[stripe(id)];
+        long stamp = stripe.tryOptimisticRead();
+        Row row = read(cols, id);
+        if (!stripe.validate(stamp)) {
+            stamp = stripe.readLock();
+            try {
+                row = read(cols, id);
+            } finally {
+                stripe.unlockRead(stamp);
+            }
+        }
+        return row == null ? Optional.empty() : Optional.of(row.toCharacter());
+    }
+
+    @Override
+    public List<Character> findAll() {
+        List<Character> all = new ArrayList<>(size());
+        forEach(CharacterQuery.ALL, all::add);
+        return all;
+    }
+
+    @Override
+    public List<Character> findPage(CharacterQuery query, UUID after, int limit) {
+        PriorityQueue<Row> page = new PriorityQueue<>(BY_ID.reversed());
+        scan(query, after, row -> {
+            page.offer(row);
+            if (page.size() > limit) {
+                page.poll();
+            }
+        });
+        List<Row> rows = new ArrayList<>(page);
+        rows.sort(BY_ID);
+        List<Character> result = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            result.add(row.toCharacter());
+        }
+        return result;
+    }
+
+    @Override
+    public void forEach(CharacterQuery query, Consumer<Character> action) {
+        scan(query, null, row -> action.accept(row.toCharacter()));
+    }
+
+    @Override
+    public long count(CharacterQuery query) {
+        long count = 0;
+        for (int from = 0; ; from += SCAN_CHUNK) {
+            long[] stamps = readLockAll();
+            try {
+                Columns c = cols;
+                if (from >= c.size) {
+                    return count;
+                }
+                int to = Math.min(from + SCAN_CHUNK, c.size);
+                for (int i = from; i < to; i++) {
+                    if (c.matches(i, query)) {
+                        count++;
+                    }
+                }
+            } finally {
+                unlockReadAll(stamps);
+            }
+        }
+    }
+
+    @Override
+    public boolean compareAndSet(long expectedVersion, Character newState) {
+        StampedLock stripe = stripes[stripe(newState.getId())];
+        long stamp = stripe.writeLock();
+        try {
+            int row = find(cols, newState.getId());
+            if (row < 0 || cols.version[row] != expectedVersion) {
+                return false;
+            }
+            cols.set(row, newState.withVersion(expectedVersion + 1));
+            return true;
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+    }
+
+    /** Checks and writes both rows under the write locks of both stripes, so the pair commits atomically. */
+    @Override
+    public boolean compareAndSetBoth(Character first, Character firstAfter, Character second, Character secondAfter) {
+        int firstStripe = stripe(first.getId());
+        int secondStripe = stripe(second.getId());
+        StampedLock lower = stripes[Math.min(firstStripe, secondStripe)];
+        StampedLock upper = stripes[Math.max(firstStripe, secondStripe)];
+        long lowerStamp = lower.writeLock();
+        long upperStamp = firstStripe == secondStripe ? 0L : upper.writeLock();
+        try {
+            int a = find(cols, first.getId());
+            int b = find(cols, second.getId());
+            if (a < 0 || b < 0 || cols.version[a] != first.getVersion() || cols.version[b] != second.getVersion()) {
+                return false;
+            }
+            cols.set(a, firstAfter.withVersion(first.getVersion() + 1));
+            cols.set(b, secondAfter.withVersion(second.getVersion() + 1));
+            return true;
+        } finally {
+            if (firstStripe != secondStripe) {
+                upper.unlockWrite(upperStamp);
+            }
+            lower.unlockWrite(lowerStamp);
+        }
+    }
+
+    /** The size only changes under every stripe, so any one of them guards it. */
+    public int size() {
+        StampedLock stripe = stripes[0];
+        long stamp = stripe.tryOptimisticRead();
+        int size = cols.size;
+        if (!stripe.validate(stamp)) {
+            stamp = stripe.readLock();
+            try {
+                size = cols.size;
+            } finally {
+                stripe.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private Character update(int row, Character character) {
+        Character stored = character.withVersion(cols.version[row] + 1);
+        cols.set(row, stored);
+        return stored;
+    }
+
+    private static int stripe(UUID id) {
+        // The table indexes with the low bits of the same hash
+        return (hash(id.getMostSignificantBits(), id.getLeastSignificantBits()) >>> 16) & (STRIPES - 1);
+    }
+
+    /** Every stripe in index order, the order pair commits use too. */
+    private long[] writeLockAll() {
+        long[] stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stamps[i] = stripes[i].writeLock();
+        }
+        return stamps;
+    }
+
+    private void unlockWriteAll(long[] stamps) {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            stripes[i].unlockWrite(stamps[i]);
+        }
+    }
+
+    private long[] readLockAll() {
+        long[] stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stamps[i] = stripes[i].readLock();
+        }
+        return stamps;
+    }
+
+    private void unlockReadAll(long[] stamps) {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            stripes[i].unlockRead(stamps[i]);
+        }
+    }
+
+    /** Copies matching rows out chunk by chunk, then hands them to {@code sink} outside the locks. */
+    private void scan(CharacterQuery query, UUID after, Consumer<Row> sink) {
+        List<Row> chunk = new ArrayList<>();
+        for (int from = 0; ; from += SCAN_CHUNK) {
+            long[] stamps = readLockAll();
+            try {
+                Columns c = cols;
+                if (from >= c.size) {
+                    return;
+                }
+                int to = Math.min(from + SCAN_CHUNK, c.size);
+                for (int i = from; i < to; i++) {
+                    if (c.matches(i, query) && (after == null || c.after(i, after))) {
+                        chunk.add(new Row(c, i));
+                    }
+                }
+            } finally {
+                unlockReadAll(stamps);
+            }
+            chunk.forEach(sink);
+            chunk.clear();
+        }
+    }
+
+    /** Row of {@code id} copied out of {@code c}, or {@code null}; may see torn data outside a lock. */
+    private static Row read(Columns c, UUID id) {
+        int row = find(c, id);
+        if (row < 0 || !c.consistent(row)) {
+            return null;
+        }
+        return new Row(c, row);
+    }
+
+    private static int find(Columns c, UUID id) {
+        long hi = id.getMostSignificantBits();
+        long lo = id.getLeastSignificantBits();
+        int mask = c.table.length - 1;
+        for (int i = hash(hi, lo) & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            int row = c.table[i] - 1;
+            if (row < 0) {
+                return -1;
+            }
+            if (row < c.idHi.length && c.idHi[row] == hi && c.idLo[row] == lo) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private void append(Character character) {
+        byte[] name = character.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalStateException("The columnar store holds names of at most " + MAX_NAME_BYTES + " UTF-8 bytes");
+        }
+        Columns c = cols;
+        if (c.size == c.idHi.length || c.namesLength + name.length > c.names.length) {
+            c = c.grow(c.size == c.idHi.length ? c.table.length * 2 : c.table.length,
+                    Math.max(c.names.length * 2, c.namesLength + name.length));
+        }
+        int row = c.size;
+        // Rejects out-of-range values before anything outside the unpublished row changes
+        c.set(row, character);
+        c.idHi[row] = character.getId().getMostSignificantBits();
+        c.idLo[row] = character.getId().getLeastSignificantBits();
+        System.arraycopy(name, 0, c.names, c.namesLength, name.length);
+        c.nameOffset[row] = c.namesLength;
+        c.nameLength[row] = (byte) name.length;
+        c.namesLength += name.length;
+        c.index(row);
+        c.size++;
+        cols = c;
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = hi ^ lo;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static final class Columns {
+        final JobRegistry jobs;
+        final long[] idHi;
+        final long[] idLo;
+        /** HP columns are unsigned: read them with {@link Short#toUnsignedInt}. */
+        final short[] lifePoints;
+        /** Attribute columns are unsigned: read them with {@link Byte#toUnsignedInt}. */
+        final byte[] strength;
+        final byte[] dexterity;
+        final byte[] intelligence;
+        final short[] currentLifePoints;
+        final long[] version;
+        /** Job ordinal in the low bits, {@link #ALIVE} on top. */
+        final byte[] flags;
+        /** Derived stats of the row's job and stats, handed to snapshots as their memo. */
+        final int[] attack;
+        final int[] speed;
+        final int[] nameOffset;
+        /** Unsigned, like the attributes. */
+        final byte[] nameLength;
+        final byte[] names;
+        /** Row + 1 per slot, 0 when empty; rows stop at three quarters of its size. */
+        final int[] table;
+        int namesLength;
+        int size;
+
+        Columns(JobRegistry jobs, int tableSize, int namesCapacity) {
+            this.jobs = jobs;
+            int capacity = tableSize / 4 * 3;
+            idHi = new long[capacity];
+            idLo = new long[capacity];
+            lifePoints = new short[capacity];
+            strength = new byte[capacity];
+            dexterity = new byte[capacity];
+            intelligence = new byte[capacity];
+            currentLifePoints = new short[capacity];
+            version = new long[capacity];
+            flags = new byte[capacity];
+            attack = new int[capacity];
+            speed = new int[capacity];
+            nameOffset = new int[capacity];
+            nameLength = new byte[capacity];
+            names = new byte[namesCapacity];
+            table = new int[tableSize];
+        }
+
+        Columns grow(int tableSize, int namesCapacity) {
+            Columns next = new Columns(jobs, tableSize, namesCapacity);
+            System.arraycopy(idHi, 0, next.idHi, 0, size);
+            System.arraycopy(idLo, 0, next.idLo, 0, size);
+            System.arraycopy(lifePoints, 0, next.lifePoints, 0, size);
+            System.arraycopy(strength, 0, next.strength, 0, size);
+            System.arraycopy(dexterity, 0, next.dexterity, 0, size);
+            System.arraycopy(intelligence, 0, next.intelligence, 0, size);
+            System.arraycopy(currentLifePoints, 0, next.currentLifePoints, 0, size);
+            System.arraycopy(version, 0, next.version, 0, size);
+            System.arraycopy(flags, 0, next.flags, 0, size);
+            System.arraycopy(attack, 0, next.attack, 0, size);
+            System.arraycopy(speed, 0, next.speed, 0, size);
+            System.arraycopy(nameOffset, 0, next.nameOffset, 0, size);
+            System.arraycopy(nameLength, 0, next.nameLength, 0, size);
+            System.arraycopy(names, 0, next.names, 0, namesLength);
+            next.namesLength = namesLength;
+            next.size = size;
+            for (int row = 0; row < size; row++) {
+                next.index(row);
+            }
+            return next;
+        }
+
+        void index(int row) {
+            int mask = table.length - 1;
+            int i = hash(idHi[row], idLo[row]) & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = row + 1;
+        }
+
+        void set(int row, Character c) {
+            int job = c.getJob().ordinal();
+            if (job >= ALIVE) {
+                throw new IllegalStateException("The columnar store packs at most " + ALIVE + " jobs");
+            }
+            if (job >= jobs.count() || jobs.job(job) != c.getJob()) {
+                throw new IllegalStateException("Job " + c.getJob() + " is not one of this store's jobs");
+            }
+            Stats s = c.getStats();
+            if (s.getLifePoints() > MAX_LIFE_POINTS || c.getCurrentLifePoints() > MAX_LIFE_POINTS) {
+                throw new IllegalStateException("The columnar store holds at most " + MAX_LIFE_POINTS + " life points");
+            }
+            if (s.getStrength() > MAX_ATTRIBUTE || s.getDexterity() > MAX_ATTRIBUTE || s.getIntelligence() > MAX_ATTRIBUTE) {
+                throw new IllegalStateException("The columnar store holds attributes of at most " + MAX_ATTRIBUTE);
+            }
+            DerivedStats derived = c.derived(this::derive);
+            lifePoints[row] = (short) s.getLifePoints();
+            strength[row] = (byte) s.getStrength();
+            dexterity[row] = (byte) s.getDexterity();
+            intelligence[row] = (byte) s.getIntelligence();
+            currentLifePoints[row] = (short) c.getCurrentLifePoints();
+            version[row] = c.getVersion();
+            flags[row] = (byte) (job | (c.isAlive() ? ALIVE : 0));
+            attack[row] = derived.getAttack();
+            speed[row] = derived.getSpeed();
+        }
+
+        private DerivedStats derive(Character c) {
+            StatsCalculator calc = jobs.definition(c.getJob()).getCalculator();
+            return new DerivedStats(calc.attack(c.getStats()), calc.speed(c.getStats()));
+        }
+
+        Job job(int row) {
+            return jobs.job(flags[row] & (ALIVE - 1));
+        }
+
+        boolean alive(int row) {
+            return (flags[row] & ALIVE) != 0;
+        }
+
+        boolean matches(int row, CharacterQuery q) {
+            int hp = Short.toUnsignedInt(currentLifePoints[row]);
+            return (q.getJob() == null || q.getJob() == job(row))
+                    && (q.getAlive() == null || q.getAlive() == alive(row))
+                    && (q.getMinHp() == null || hp >= q.getMinHp())
+                    && (q.getMaxHp() == null || hp <= q.getMaxHp());
+        }
+
+        /** Same order as {@link UUID#compareTo}. */
+        boolean after(int row, UUID id) {
+            int cmp = Long.compare(idHi[row], id.getMostSignificantBits());
+            return cmp > 0 || (cmp == 0 && Long.compare(idLo[row], id.getLeastSignificantBits()) > 0);
+        }
+
+        /** Guards optimistic reads against a row that is still being written. */
+        boolean consistent(int row) {
+            int job = flags[row] & (ALIVE - 1);
+            return job < jobs.count() && nameOffset[row] >= 0
+                    && nameOffset[row] + Byte.toUnsignedInt(nameLength[row]) <= names.length;
+        }
+    }
+
+    /** One row copied out of the columns; turned into a {@link Character} outside the locks. */
+    private static final class Row {
+        final long idHi;
+        final long idLo;
+        final String name;
+        final Job job;
+        final int lifePoints;
+        final int strength;
+        final int dexterity;
+        final int intelligence;
+        final int currentLifePoints;
+        final boolean alive;
+        final long version;
+        final int attack;
+        final int speed;
+
+        Row(Columns c, int row) {
+            idHi = c.idHi[row];
+            idLo = c.idLo[row];
+            name = new String(c.names, c.nameOffset[row], Byte.toUnsignedInt(c.nameLength[row]), StandardCharsets.UTF_8);
+            job = c.job(row);
+            lifePoints = Short.toUnsignedInt(c.lifePoints[row]);
+            strength = Byte.toUnsignedInt(c.strength[row]);
+            dexterity = Byte.toUnsignedInt(c.dexterity[row]);
+            intelligence = Byte.toUnsignedInt(c.intelligence[row]);
+            currentLifePoints = Short.toUnsignedInt(c.currentLifePoints[row]);
+            alive = c.alive(row);
+            version = c.version[row];
+            attack = c.attack[row];
+            speed = c.speed[row];
+        }
+
+        Character toCharacter() {
+            Character character = Character.builder()
+                    .id(new UUID(idHi, idLo))
+                    .name(name)
+                    .job(job)
+                    .stats(Stats.builder()
+                            .lifePoints(lifePoints)
+                            .strength(strength)
+                            .dexterity(dexterity)
+                            .intelligence(intelligence)
+                            .build())
+                    .build()
+                    .withLifePoints(currentLifePoints, alive)
+                    .withVersion(version);
+            DerivedStats derived = new DerivedStats(attack, speed);
+            character.derived(ignored -> derived);
+            return character;
+        }
+    }
+}
@@ -1,29 +1,300 @@
 package com.drapala.rpg.repository;
 
 import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
 
+/**
+ * Concurrent map store with secondary indexes on job and alive status. Each character lives in a
+ * {@link Slot}; every write holds the slot's monitor, which also moves the character between index
+ * buckets, so the indexes follow the store in the same order the store changes. Reads take no lock.
+ * Characters are also kept in ID order, and so is every index bucket, so a keyset page seeks to its
+ * cursor and reads only the rows it returns.
+ */
 @Repository
-@org.springframework.context.annotation.Profile("!prod")
+@org.springframework.context.annotation.Profile("!prod & !columnar")
 public class InMemoryCharacterRepository implements CharacterRepository {
-    private final Map<UUID, Character> store = new ConcurrentHashMap<>();
+    private final Map<UUID, Slot> store = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<UUID, Slot> ordered = new ConcurrentSkipListMap<>();
+    private final Map<Job, NavigableSet<UUID>> aliveByJob = new ConcurrentHashMap<>();
+    private final Map<Job, NavigableSet<UUID>> deadByJob = new ConcurrentHashMap<>();
 
     @Override
     public Character save(Character character) {
-        store.put(character.getId(), character);
-        return character;
+        Slot slot = slot(character.getId());
+        synchronized (slot) {
+            Character current = slot.get();
+            return slot.set(current, current == null ? character : character.withVersion(current.getVersion() + 1));
+        }
+    }
+
+    /** Puts the snapshot as-is, version included; used to rebuild the store from disk. */
+    public void restore(Character snapshot) {
+        Slot slot = slot(snapshot.getId());
+        synchronized (slot) {
+            slot.set(slot.get(), snapshot);
+        }
+    }
+
+    /** Visits every stored snapshot without copying the store; concurrent changes may or may not be seen. */
+    public void forEach(Consumer<Character> action) {
+        for (Slot slot : store.values()) {
+            Character c = slot.get();
+            if (c != null) {
+                action.accept(c);
+            }
+        }
+    }
+
+    @Override
+    public void forEach(CharacterQuery query, Consumer<Character> action) {
+        List<NavigableSet<UUID>> buckets = buckets(query);
+        if (buckets == null) {
+            forEach(c -> {
+                if (query.matches(c)) {
+                    action.accept(c);
+                }
+            });
+            return;
+        }
+        for (NavigableSet<UUID> bucket : buckets) {
+            for (UUID id : bucket) {
+                Character c = get(id);
+                // Re-check: the character may have changed bucket since the index was read
+                if (c != null && query.matches(c)) {
+                    action.accept(c);
+                }
+            }
+        }
+    }
+
+    /** Sums bucket sizes when only job and alive are filtered; HP bounds need a walk of the matching buckets. */
+    @Override
+    public long count(CharacterQuery query) {
+        if (query.getMinHp() != null || query.getMaxHp() != null) {
+            return CharacterRepository.super.count(query);
+        }
+        List<NavigableSet<UUID>> buckets = buckets(query);
+        if (buckets == null) {
+            return store.size();
+        }
+        long count = 0;
+        for (NavigableSet<UUID> bucket : buckets) {
+            count += bucket.size();
+        }
+        return count;
     }
 
     @Override
     public Optional<Character> findById(UUID id) {
-        return Optional.ofNullable(store.get(id));
+        return Optional.ofNullable(get(id));
     }
 
     @Override
     public List<Character> findAll() {
-        return new ArrayList<>(store.values());
+        List<Character> all = new ArrayList<>(store.size());
+        forEach(all::add);
+        return all;
+    }
+
+    @Override
+    public boolean compareAndSet(long expectedVersion, Character newState) {
+        Slot slot = store.get(newState.getId());
+        if (slot == null) {
+            return false;
+        }
+        synchronized (slot) {
+            Character current = slot.get();
+            if (current == null || current.getVersion() != expectedVersion) {
+                return false;
+            }
+            slot.set(current, newState.withVersion(expectedVersion + 1));
+            return true;
+        }
+    }
+
+    /**
+     * Commits both sides atomically, also for lock-free readers: both slots first point at one
+     * {@link PairCommit}, which reads as the old snapshots until a single volatile write publishes
+     * the new ones. A reader that has seen one side of the battle therefore sees the other, and a
+     * version mismatch is found before anything is visible, so nothing is ever rolled back.
+     */
+    @Override
+    public boolean compareAndSetBoth(Character first, Character firstAfter, Character second, Character secondAfter) {
+        Slot firstSlot = store.get(first.getId());
+        Slot secondSlot = store.get(second.getId());
+        if (firstSlot == null || secondSlot == null || firstSlot == secondSlot) {
+            return false;
+        }
+        // Monitors in ID order, so commits of the same two characters cannot deadlock
+        boolean firstOuter = first.getId().compareTo(second.getId()) < 0;
+        synchronized (firstOuter ? firstSlot : secondSlot) {
+            synchronized (firstOuter ? secondSlot : firstSlot) {
+                Character storedFirst = firstSlot.get();
+                Character storedSecond = secondSlot.get();
+                if (storedFirst == null || storedSecond == null
+                        || storedFirst.getVersion() != first.getVersion() || storedSecond.getVersion() != second.getVersion()) {
+                    return false;
+                }
+                PairCommit commit = new PairCommit(firstSlot, storedFirst, firstAfter.withVersion(first.getVersion() + 1),
+                        storedSecond, secondAfter.withVersion(second.getVersion() + 1));
+                firstSlot.state = commit;
+                secondSlot.state = commit;
+                commit.published = true;
+                firstSlot.set(storedFirst, commit.firstAfter);
+                secondSlot.set(storedSecond, commit.secondAfter);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Seeks past {@code after} in the ID-ordered store, or in each matching index bucket, and reads
+     * forward until {@code limit} matches are found, so walking every page reads every row once.
+     * Bucket pages are merged in ID order; HP bounds are checked row by row.
+     */
+    @Override
+    public List<Character> findPage(CharacterQuery query, UUID after, int limit) {
+        List<NavigableSet<UUID>> buckets = buckets(query);
+        List<Character> page = new ArrayList<>(Math.min(limit, 1024));
+        if (buckets == null) {
+            for (Slot slot : (after == null ? ordered : ordered.tailMap(after, false)).values()) {
+                Character c = slot.get();
+                if (c != null && query.matches(c)) {
+                    page.add(c);
+                    if (page.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return page;
+        }
+        for (NavigableSet<UUID> bucket : buckets) {
+            int taken = 0;
+            for (UUID id : after == null ? bucket : bucket.tailSet(after, false)) {
+                Character c = get(id);
+                // Re-check: the character may have changed bucket since the index was read
+                if (c != null && query.matches(c)) {
+                    page.add(c);
+                    if (++taken == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (buckets.size() > 1) {
+            page.sort(Comparator.comparing(Character::getId));
+            // A character that moved between buckets mid-walk can be read from both
+            for (int k = page.size() - 1; k > 0; k--) {
+                if (page.get(k).getId().equals(page.get(k - 1).getId())) {
+                    page.remove(k);
+                }
+            }
+        }
+        return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+    }
+
+    /** Index buckets that can hold matches of {@code query}, or {@code null} when it filters on neither job nor alive. */
+    private List<NavigableSet<UUID>> buckets(CharacterQuery query) {
+        if (query.getJob() == null && query.getAlive() == null) {
+            return null;
+        }
+        List<NavigableSet<UUID>> buckets = new ArrayList<>(2);
+        if (query.getAlive() == null || query.getAlive()) {
+            addBuckets(aliveByJob, query.getJob(), buckets);
+        }
+        if (query.getAlive() == null || !query.getAlive()) {
+            addBuckets(deadByJob, query.getJob(), buckets);
+        }
+        return buckets;
+    }
+
+    private static void addBuckets(Map<Job, NavigableSet<UUID>> index, Job job, List<NavigableSet<UUID>> into) {
+        if (job == null) {
+            into.addAll(index.values());
+            return;
+        }
+        NavigableSet<UUID> bucket = index.get(job);
+        if (bucket != null) {
+            into.add(bucket);
+        }
+    }
+
+    private Slot slot(UUID id) {
+        return store.computeIfAbsent(id, key -> {
+            Slot slot = new Slot();
+            ordered.put(key, slot);
+            return slot;
+        });
+    }
+
+    private Character get(UUID id) {
+        Slot slot = store.get(id);
+        return slot == null ? null : slot.get();
+    }
+
+    /** Moves the character's index entry from {@code before}'s bucket to {@code after}'s; runs under the slot's monitor. */
+    private Character moved(Character before, Character after) {
+        if (before != null && before.getJob() == after.getJob() && before.isAlive() == after.isAlive()) {
+            return after;
+        }
+        if (before != null) {
+            bucket(before).remove(before.getId());
+        }
+        bucket(after).add(after.getId());
+        return after;
+    }
+
+    private NavigableSet<UUID> bucket(Character c) {
+        return (c.isAlive() ? aliveByJob : deadByJob).computeIfAbsent(c.getJob(), job -> new ConcurrentSkipListSet<>());
+    }
+
+    /**
+     * One stored character: a {@link Character}, {@code null} until the first save completes, or
+     * for the length of a battle commit the {@link PairCommit} of both sides. Written only under its
+     * own monitor.
+     */
+    private final class Slot {
+        private volatile Object state;
+
+        Character get() {
+            Object s = state;
+            return s instanceof PairCommit commit ? commit.resolve(this) : (Character) s;
+        }
+
+        Character set(Character before, Character after) {
+            state = after;
+            return moved(before, after);
+        }
+    }
+
+    /** Both sides of a battle commit; reads as the old snapshots until {@code published}. */
+    private static final class PairCommit {
+        private final Slot firstSlot;
+        private final Character first;
+        private final Character firstAfter;
+        private final Character second;
+        private final Character secondAfter;
+        private volatile boolean published;
+
+        PairCommit(Slot firstSlot, Character first, Character firstAfter, Character second, Character secondAfter) {
+            this.firstSlot = firstSlot;
+            this.first = first;
+            this.firstAfter = firstAfter;
+            this.second = second;
+            this.secondAfter = secondAfter;
+        }
+
+        Character resolve(Slot slot) {
+            boolean isFirst = slot == firstSlot;
+            return published ? (isFirst ? firstAfter : secondAfter) : (isFirst ? first : second);
+        }
     }
 }
@@ -1,29 +1,210 @@
 package com.drapala.rpg.repository;
 
 import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.service.stats.JobRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Relational store for the {@code prod} profile, on plain JDBC (the class keeps its historical
+ * name). Optimistic versioning matches {@link InMemoryCharacterRepository}: every update is a
+ * conditional {@code UPDATE ... WHERE version = ?}, and multi-row writes go out as JDBC batches.
+ */
 @Repository
 @Profile("prod")
 public class JpaCharacterRepository implements CharacterRepository {
+    static final int PAGE_SIZE = 1000;
+
+    private static final String COLUMNS =
+            "id, name, job, life_points, strength, dexterity, intelligence, current_life_points, alive, version";
+    private static final String INSERT =
+            "INSERT INTO characters (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_IF_VERSION =
+            "UPDATE characters SET name = ?, job = ?, life_points = ?, strength = ?, dexterity = ?, intelligence = ?,"
+                    + " current_life_points = ?, alive = ?, version = ? WHERE id = ? AND version = ?";
+    private static final String UPDATE_BUMP_VERSION =
+            "UPDATE characters SET name = ?, job = ?, life_points = ?, strength = ?, dexterity = ?, intelligence = ?,"
+                    + " current_life_points = ?, alive = ?, version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final JobRegistry jobs;
+
+    public JpaCharacterRepository(JdbcTemplate jdbc, TransactionTemplate tx) {
+        this(jdbc, tx, JobRegistry.defaults());
+    }
+
+    @Autowired
+    public JpaCharacterRepository(JdbcTemplate jdbc, TransactionTemplate tx, JobRegistry jobs) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.jobs = jobs;
+    }
+
+    private Character map(ResultSet rs, int row) throws SQLException {
+        return Character.builder()
+                .id(rs.getObject("id", UUID.class))
+                .name(rs.getString("name"))
+                .job(jobs.job(rs.getString("job")))
+                .stats(Stats.builder()
+                        .lifePoints(rs.getInt("life_points"))
+                        .strength(rs.getInt("strength"))
+                        .dexterity(rs.getInt("dexterity"))
+                        .intelligence(rs.getInt("intelligence"))
+                        .build())
+                .build()
+                .withLifePoints(rs.getInt("current_life_points"), rs.getBoolean("alive"))
+                .withVersion(rs.getLong("version"));
+    }
+
     @Override
     public Character save(Character character) {
-        throw new UnsupportedOperationException("JPA repository not implemented in this assignment");
+        return tx.execute(status -> {
+            List<Long> current = jdbc.queryForList(
+                    "SELECT version FROM characters WHERE id = ? FOR UPDATE", Long.class, character.getId());
+            if (current.isEmpty()) {
+                jdbc.update(INSERT, insertArgs(character));
+                return character;
+            }
+            long version = current.get(0);
+            jdbc.update(UPDATE_IF_VERSION, updateArgs(version, character.withVersion(version + 1)));
+            return character.withVersion(version + 1);
+        });
+    }
+
+    @Override
+    public void saveAll(Collection<Character> characters) {
+        if (characters.isEmpty()) {
+            return;
+        }
+        List<Character> batch = new ArrayList<>(characters);
+        tx.executeWithoutResult(status -> {
+            List<Object[]> updates = new ArrayList<>(batch.size());
+            for (Character c : batch) {
+                updates.add(bumpArgs(c));
+            }
+            int[] updated = jdbc.batchUpdate(UPDATE_BUMP_VERSION, updates);
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    inserts.add(insertArgs(batch.get(i)));
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbc.batchUpdate(INSERT, inserts);
+            }
+        });
     }
 
     @Override
     public Optional<Character> findById(UUID id) {
-        throw new UnsupportedOperationException("JPA repository not implemented in this assignment");
+        return jdbc.query("SELECT " + COLUMNS + " FROM characters WHERE id = ?", this::map, id).stream().findFirst();
     }
 
     @Override
     public List<Character> findAll() {
-        throw new UnsupportedOperationException("JPA repository not implemented in this assignment");
+        // Walk the table in keyset pages so no single query holds a cursor over every row
+        List<Character> all = new ArrayList<>();
+        List<Character> page = findPage(null, PAGE_SIZE);
+        while (true) {
+            all.addAll(page);
+            if (page.size() < PAGE_SIZE) {
+                return all;
+            }
+            page = findPage(page.get(page.size() - 1).getId(), PAGE_SIZE);
+        }
     }
-}
 
+    @Override
+    public List<Character> findPage(CharacterQuery query, UUID after, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = where(new StringBuilder("SELECT ").append(COLUMNS).append(" FROM characters"), query, args);
+        if (after != null) {
+            sql.append(" AND id > ?");
+            args.add(after);
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+        return jdbc.query(sql.toString(), this::map, args.toArray());
+    }
+
+    @Override
+    public long count(CharacterQuery query) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = where(new StringBuilder("SELECT COUNT(*) FROM characters"), query, args);
+        Long count = jdbc.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public boolean compareAndSet(long expectedVersion, Character newState) {
+        return jdbc.update(UPDATE_IF_VERSION, updateArgs(expectedVersion, newState.withVersion(expectedVersion + 1))) == 1;
+    }
+
+    /** Both conditional updates go out as one JDBC batch in one transaction; either both apply or neither. */
+    @Override
+    public boolean compareAndSetBoth(Character first, Character firstAfter, Character second, Character secondAfter) {
+        Boolean committed = tx.execute(status -> {
+            int[] updated = jdbc.batchUpdate(UPDATE_IF_VERSION, List.of(
+                    updateArgs(first.getVersion(), firstAfter.withVersion(first.getVersion() + 1)),
+                    updateArgs(second.getVersion(), secondAfter.withVersion(second.getVersion() + 1))));
+            if (updated[0] == 1 && updated[1] == 1) {
+                return true;
+            }
+            status.setRollbackOnly();
+            return false;
+        });
+        return Boolean.TRUE.equals(committed);
+    }
+
+    private static StringBuilder where(StringBuilder sql, CharacterQuery query, List<Object> args) {
+        sql.append(" WHERE 1 = 1");
+        if (query.getJob() != null) {
+            sql.append(" AND job = ?");
+            args.add(query.getJob().name());
+        }
+        if (query.getAlive() != null) {
+            sql.append(" AND alive = ?");
+            args.add(query.getAlive());
+        }
+        if (query.getMinHp() != null) {
+            sql.append(" AND current_life_points >= ?");
+            args.add(query.getMinHp());
+        }
+        if (query.getMaxHp() != null) {
+            sql.append(" AND current_life_points <= ?");
+            args.add(query.getMaxHp());
+        }
+        return sql;
+    }
+
+    private static Object[] insertArgs(Character c) {
+        Stats s = c.getStats();
+        return new Object[]{c.getId(), c.getName(), c.getJob().name(), s.getLifePoints(), s.getStrength(),
+                s.getDexterity(), s.getIntelligence(), c.getCurrentLifePoints(), c.isAlive(), c.getVersion()};
+    }
+
+    private static Object[] updateArgs(long expectedVersion, Character c) {
+        Stats s = c.getStats();
+        return new Object[]{c.getName(), c.getJob().name(), s.getLifePoints(), s.getStrength(), s.getDexterity(),
+                s.getIntelligence(), c.getCurrentLifePoints(), c.isAlive(), c.getVersion(), c.getId(), expectedVersion};
+    }
+
+    private static Object[] bumpArgs(Character c) {
+        Stats s = c.getStats();
+        return new Object[]{c.getName(), c.getJob().name(), s.getLifePoints(), s.getStrength(), s.getDexterity(),
+                s.getIntelligence(), c.getCurrentLifePoints(), c.isAlive(), c.getId()};
+    }
+}
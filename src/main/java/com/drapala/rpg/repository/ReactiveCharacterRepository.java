@@ -0,0 +1,80 @@
+package com.drapala.rpg.repository;
+
+import com.drapala.rpg.model.Character;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking view of the {@link CharacterRepository}. The stores block (JDBC, locks), so every
+ * call runs on {@code scheduler} rather than the caller's event-loop thread.
+ *
+ * <p>{@link #findAll} is driven by demand: it reads one keyset page per batch the subscriber asks
+ * for and keeps at most one page ahead, so a slow reader holds back the store instead of buffering it.
+ */
+@Component
+public class ReactiveCharacterRepository {
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final CharacterRepository repository;
+    private final Scheduler scheduler;
+
+    @Autowired
+    public ReactiveCharacterRepository(CharacterRepository repository) {
+        this(repository, Schedulers.boundedElastic());
+    }
+
+    public ReactiveCharacterRepository(CharacterRepository repository, Scheduler scheduler) {
+        this.repository = repository;
+        this.scheduler = scheduler;
+    }
+
+    public Mono<Character> findById(UUID id) {
+        return Mono.fromCallable(() -> repository.findById(id).orElse(null)).subscribeOn(scheduler);
+    }
+
+    public Mono<Character> save(Character character) {
+        return Mono.fromCallable(() -> repository.save(character)).subscribeOn(scheduler);
+    }
+
+    public Mono<Long> count(CharacterQuery query) {
+        return Mono.fromCallable(() -> repository.count(query)).subscribeOn(scheduler);
+    }
+
+    /** Every match after {@code after} ({@code null} for all) in ID order, read in pages of {@value #DEFAULT_PAGE_SIZE}. */
+    public Flux<Character> findAll(CharacterQuery query, UUID after) {
+        return findAll(query, after, DEFAULT_PAGE_SIZE);
+    }
+
+    public Flux<Character> findAll(CharacterQuery query, UUID after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        return Flux.<List<Character>, Cursor>generate(() -> new Cursor(after, false), (cursor, sink) -> {
+                    if (cursor.last()) {
+                        sink.complete();
+                        return cursor;
+                    }
+                    List<Character> page = repository.findPage(query, cursor.after(), pageSize);
+                    if (page.isEmpty()) {
+                        sink.complete();
+                        return cursor;
+                    }
+                    sink.next(page);
+                    return new Cursor(page.get(page.size() - 1).getId(), page.size() < pageSize);
+                })
+                .concatMapIterable(Function.identity(), 1)
+                .subscribeOn(scheduler);
+    }
+
+    /** Where the next page starts; {@code last} once a short page showed nothing follows. */
+    private record Cursor(UUID after, boolean last) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.drapala.rpg.repository;
+
+import com.drapala.rpg.model.Character;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind decorator: the in-memory store is authoritative and answers every read and write,
+ * while changed characters are queued and flushed to the durable delegate in batches by a
+ * background thread. Repeated changes to the same character between flushes coalesce into its
+ * latest snapshot. {@link #close()} drains whatever is still queued.
+ */
+@Slf4j
+public class WriteBehindCharacterRepository implements CharacterRepository, AutoCloseable {
+    private final InMemoryCharacterRepository memory;
+    private final CharacterRepository delegate;
+    private final int batchSize;
+    private final Map<UUID, Character> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+    private final Timer flushTimer;
+    private final Counter flushFailures;
+
+    public WriteBehindCharacterRepository(CharacterRepository delegate, long flushIntervalMillis, int batchSize,
+                                          MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Write-behind batch size must be positive");
+        }
+        this.memory = new InMemoryCharacterRepository();
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        memory.saveAll(delegate.findAll());
+
+        if (meterRegistry != null) {
+            meterRegistry.gauge("repository.write-behind.pending", pending, Map::size);
+            this.flushTimer = meterRegistry.timer("repository.write-behind.flush");
+            this.flushFailures = meterRegistry.counter("repository.write-behind.failures");
+        } else {
+            this.flushTimer = null;
+            this.flushFailures = null;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "character-write-behind");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Character save(Character character) {
+        return enqueue(memory.save(character));
+    }
+
+    @Override
+    public Optional<Character> findById(UUID id) {
+        return memory.findById(id);
+    }
+
+    @Override
+    public List<Character> findAll() {
+        return memory.findAll();
+    }
+
+    @Override
+    public List<Character> findPage(CharacterQuery query, UUID after, int limit) {
+        return memory.findPage(query, after, limit);
+    }
+
+    @Override
+    public void forEach(CharacterQuery query, Consumer<Character> action) {
+        memory.forEach(query, action);
+    }
+
+    @Override
+    public long count(CharacterQuery query) {
+        return memory.count(query);
+    }
+
+    @Override
+    public boolean compareAndSet(long expectedVersion, Character newState) {
+        if (!memory.compareAndSet(expectedVersion, newState)) {
+            return false;
+        }
+        enqueue(newState.withVersion(expectedVersion + 1));
+        return true;
+    }
+
+    @Override
+    public boolean compareAndSetBoth(Character first, Character firstAfter, Character second, Character secondAfter) {
+        if (!memory.compareAndSetBoth(first, firstAfter, second, secondAfter)) {
+            return false;
+        }
+        enqueue(firstAfter.withVersion(first.getVersion() + 1));
+        enqueue(secondAfter.withVersion(second.getVersion() + 1));
+        return true;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /** Writes every queued character to the delegate, in batches of at most the configured size. */
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            while (!pending.isEmpty()) {
+                List<Character> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+                for (Character c : pending.values()) {
+                    // Only take the snapshot seen here; a newer one queued meanwhile stays for the next batch
+                    if (pending.remove(c.getId(), c)) {
+                        batch.add(c);
+                        if (batch.size() == batchSize) {
+                            break;
+                        }
+                    }
+                }
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Write-behind scheduler did not stop in time");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        log.info("Write-behind drained; {} characters still pending", pending.size());
+    }
+
+    private Character enqueue(Character stored) {
+        pending.merge(stored.getId(), stored, (queued, next) -> next.getVersion() >= queued.getVersion() ? next : queued);
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down: close() drains the queue
+            }
+        }
+        return stored;
+    }
+
+    private void write(List<Character> batch) {
+        long start = System.nanoTime();
+        try {
+            delegate.saveAll(batch);
+        } catch (RuntimeException ex) {
+            // Put the batch back unless a newer snapshot was queued while it was in flight
+            for (Character c : batch) {
+                pending.merge(c.getId(), c, (queued, failed) -> queued.getVersion() >= failed.getVersion() ? queued : failed);
+            }
+            if (flushFailures != null) {
+                flushFailures.increment();
+            }
+            throw ex;
+        } finally {
+            if (flushTimer != null) {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Write-behind flush failed; {} characters stay queued", pending.size(), ex);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.drapala.rpg.service;
+
+import com.drapala.rpg.dto.BattleBatchItem;
+import com.drapala.rpg.dto.BattleBatchResponse;
+import com.drapala.rpg.dto.BattleRequest;
+import com.drapala.rpg.dto.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs many battles in one call. Battles are grouped into chains of pairs connected through a
+ * shared character; each chain runs sequentially in request order, and independent chains run in
+ * parallel on the bounded battle executor.
+ */
+@Service
+@Slf4j
+public class BattleBatchService {
+    private final BattleService battleService;
+    private final AsyncTaskExecutor executor;
+
+    public BattleBatchService(BattleService battleService, @Qualifier("battleExecutor") AsyncTaskExecutor executor) {
+        this.battleService = battleService;
+        this.executor = executor;
+    }
+
+    public BattleBatchResponse battle(List<BattleRequest> requests) {
+        BattleBatchItem[] results = new BattleBatchItem[requests.size()];
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int[] chain : chains(requests)) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int index : chain) {
+                    results[index] = run(index, requests.get(index));
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        return BattleBatchResponse.builder().results(Arrays.asList(results)).build();
+    }
+
+    private BattleBatchItem run(int index, BattleRequest request) {
+        try {
+            return BattleBatchItem.builder().index(index).status("OK").result(battleService.battle(request)).build();
+        } catch (NoSuchElementException ex) {
+            return failed(index, "NOT_FOUND", ex.getMessage());
+        } catch (IllegalStateException ex) {
+            return failed(index, "CONFLICT", ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.warn("Batch battle {} failed", index, ex);
+            return failed(index, "INTERNAL_ERROR", "Battle failed");
+        }
+    }
+
+    private static BattleBatchItem failed(int index, String code, String message) {
+        ErrorResponse error = ErrorResponse.builder()
+                .code(code)
+                .message(message)
+                .timestamp(Instant.now().toString())
+                .build();
+        return BattleBatchItem.builder().index(index).status(code).error(error).build();
+    }
+
+    /**
+     * Union-find over character IDs; returns the request indexes of every connected chain in
+     * ascending (request) order.
+     */
+    static List<int[]> chains(List<BattleRequest> requests) {
+        Map<UUID, Integer> slots = new HashMap<>();
+        int[] parent = new int[requests.size() * 2];
+        int[] firstSlot = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            int a = slot(slots, parent, requests.get(i).getAttackerId());
+            int d = slot(slots, parent, requests.get(i).getDefenderId());
+            union(parent, a, d);
+            firstSlot[i] = a;
+        }
+
+        Map<Integer, List<Integer>> byRoot = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            byRoot.computeIfAbsent(find(parent, firstSlot[i]), root -> new ArrayList<>()).add(i);
+        }
+        List<int[]> chains = new ArrayList<>(byRoot.size());
+        for (List<Integer> members : byRoot.values()) {
+            chains.add(members.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return chains;
+    }
+
+    private static int slot(Map<UUID, Integer> slots, int[] parent, UUID id) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(id, slot);
+            parent[slot] = slot;
+        }
+        return slot;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra != rb) {
+            parent[Math.max(ra, rb)] = Math.min(ra, rb);
+        }
+    }
+}
@@ -1,30 +1,67 @@
 package com.drapala.rpg.service;
 
+import com.drapala.rpg.dto.BattleEvent;
 import com.drapala.rpg.dto.BattleRequest;
 import com.drapala.rpg.dto.BattleResponse;
 import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
 import com.drapala.rpg.repository.CharacterRepository;
+import com.drapala.rpg.service.battle.BattleKernel;
+import com.drapala.rpg.service.battle.CombatLog;
+import com.drapala.rpg.service.journal.BattleJournal;
+import com.drapala.rpg.service.lock.CharacterLocks;
+import com.drapala.rpg.service.matchmaking.PowerRatingIndex;
 import com.drapala.rpg.service.stats.StatsCalculatorResolver;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.function.IntUnaryOperator;
 
 @Service
 @Slf4j
 public class BattleService {
+    private static final int MAX_COMMIT_ATTEMPTS = 8;
+    private static final ThreadLocal<CombatLog> COMBAT_LOGS = ThreadLocal.withInitial(CombatLog::new);
+
     private final CharacterRepository repository;
     private final StatsCalculatorResolver resolver;
     private final MeterRegistry meterRegistry;
+    private final CharacterLocks locks;
+    private final BattleJournal journal;
+    private final PowerRatingIndex ratings;
+    private final IntUnaryOperator damageRoll = this::calculateDamage;
 
     public BattleService(CharacterRepository repository, StatsCalculatorResolver resolver, MeterRegistry meterRegistry) {
+        this(repository, resolver, meterRegistry, new CharacterLocks(CharacterLocks.DEFAULT_STRIPES, meterRegistry));
+    }
+
+    public BattleService(CharacterRepository repository, StatsCalculatorResolver resolver, MeterRegistry meterRegistry,
+                         CharacterLocks locks) {
+        this(repository, resolver, meterRegistry, locks, BattleJournal.NOOP);
+    }
+
+    public BattleService(CharacterRepository repository, StatsCalculatorResolver resolver, MeterRegistry meterRegistry,
+                         CharacterLocks locks, BattleJournal journal) {
+        this(repository, resolver, meterRegistry, locks, journal, null);
+    }
+
+    @Autowired
+    public BattleService(CharacterRepository repository, StatsCalculatorResolver resolver, MeterRegistry meterRegistry,
+                         CharacterLocks locks, BattleJournal journal, PowerRatingIndex ratings) {
         this.repository = repository;
         this.resolver = resolver;
         this.meterRegistry = meterRegistry;
+        this.locks = locks;
+        this.journal = journal;
+        this.ratings = ratings;
     }
 
     public BattleResponse battle(BattleRequest request) {
@@ -35,82 +72,296 @@ public class BattleService {
             throw new IllegalStateException("Attacker and defender must be different");
         }
 
-        Character attacker = repository.findById(aId)
-                .orElseThrow(() -> new java.util.NoSuchElementException("Character not found: " + aId));
-        Character defender = repository.findById(dId)
-                .orElseThrow(() -> new java.util.NoSuchElementException("Character not found: " + dId));
+        UUID battleId = UUID.randomUUID();
+        MDC.put("battleId", battleId.toString());
+        try {
+            // Simulate on immutable snapshots without holding any lock, then commit both outcomes
+            // under the participants' locks; a concurrent commit in between forces a retry.
+            for (int attempt = 1; ; attempt++) {
+                Character attacker = participant(aId);
+                Character defender = participant(dId);
+                requireAlive(attacker, defender);
+
+                started(attacker, defender);
+                // The journal keeps every hit, so the hits are captured even when the log is not returned
+                CombatLog combat = request.isIncludeLog() || journal.enabled() ? combatLog() : null;
+                int outcome = simulate(attacker, defender, combat);
+                if (finish(battleId, attacker, defender, combat, outcome)) {
+                    boolean attackerWins = BattleKernel.winner(outcome) == CombatLog.ATTACKER;
+                    Character winner = attackerWins ? attacker : defender;
+                    Character loser = attackerWins ? defender : attacker;
+                    return BattleResponse.builder()
+                            .winnerId(winner.getId().toString())
+                            .loserId(loser.getId().toString())
+                            .battleLog(request.isIncludeLog() ? render(attacker, defender, combat, outcome) : null)
+                            .build();
+                }
+
+                conflicted(attempt);
+                if (attempt == MAX_COMMIT_ATTEMPTS) {
+                    throw new IllegalStateException("Battle could not be committed due to concurrent updates");
+                }
+            }
+        } finally {
+            MDC.remove("battleId");
+        }
+    }
+
+    /**
+     * The same battle as {@link #battle(BattleRequest)}, produced one event per {@code next()}:
+     * {@code START}, a {@code HIT} per blow as it is simulated, then {@code END} once the outcome
+     * is committed. No log is accumulated, so the first event costs the same however long the
+     * fight; with the journal on, hits also go into the compact {@link CombatLog} it records.
+     *
+     * <p>The participants are checked here, before any event. The outcome is committed after the
+     * last hit is consumed: an abandoned stream changes nothing, and if either character changed
+     * meanwhile the stream ends with a {@code CONFLICT} {@code ERROR} event rather than replaying a
+     * fight whose hits were already shown.
+     */
+    public Iterator<BattleEvent> stream(BattleRequest request) {
+        if (request.getAttackerId().equals(request.getDefenderId())) {
+            throw new IllegalStateException("Attacker and defender must be different");
+        }
+        Character attacker = participant(request.getAttackerId());
+        Character defender = participant(request.getDefenderId());
+        requireAlive(attacker, defender);
+        return new LiveBattle(attacker, defender);
+    }
+
+    private Character participant(UUID id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Character not found: " + id));
+    }
 
+    private static void requireAlive(Character attacker, Character defender) {
         if (!attacker.isAlive() || !defender.isAlive()) {
             throw new IllegalStateException("Both characters must be alive to battle");
         }
+    }
 
-        String battleId = UUID.randomUUID().toString();
-        MDC.put("battleId", battleId);
-        try {
-            List<String> logLines = new ArrayList<>();
-            log.info("Battle started: {} vs {}", attacker.getId(), defender.getId());
-            if (meterRegistry != null) {
-                meterRegistry.counter("battle.started").increment();
+    private void started(Character attacker, Character defender) {
+        log.info("Battle started: {} vs {}", attacker.getId(), defender.getId());
+        if (meterRegistry != null) {
+            meterRegistry.counter("battle.started").increment();
+        }
+    }
+
+    private void conflicted(int attempt) {
+        log.info("Battle commit conflict on attempt {}", attempt);
+        if (meterRegistry != null) {
+            meterRegistry.counter("battle.conflicts").increment();
+        }
+    }
+
+    /** Commits {@code outcome}; once it is stored, updates the ratings and reports the battle finished. */
+    private boolean finish(UUID battleId, Character attacker, Character defender, CombatLog combat, int outcome) {
+        boolean attackerWins = BattleKernel.winner(outcome) == CombatLog.ATTACKER;
+        int winnerHp = BattleKernel.winnerHp(outcome);
+        Character attackerAfter = attacker.withLifePoints(attackerWins ? winnerHp : 0, attackerWins);
+        Character defenderAfter = defender.withLifePoints(attackerWins ? 0 : winnerHp, !attackerWins);
+        if (!commit(battleId, attacker, attackerAfter, defender, defenderAfter, combat, outcome)) {
+            return false;
+        }
+        if (ratings != null) {
+            ratings.update(attackerAfter.withVersion(attacker.getVersion() + 1));
+            ratings.update(defenderAfter.withVersion(defender.getVersion() + 1));
+        }
+        log.info("Battle finished: winner={} loser={}", (attackerWins ? attacker : defender).getId(),
+                (attackerWins ? defender : attacker).getId());
+        if (meterRegistry != null) {
+            meterRegistry.counter("battle.completed").increment();
+        }
+        return true;
+    }
+
+    private int simulate(Character attacker, Character defender, CombatLog combat) {
+        // Attack and speed are memoized on the snapshots, so no calculator runs here after a character's first battle
+        DerivedStats a = resolver.derived(attacker);
+        DerivedStats d = resolver.derived(defender);
+        boolean attackerFirst = a.getSpeed() >= d.getSpeed();
+        int attackerDamage = a.getAttack();
+        int defenderDamage = d.getAttack();
+
+        return attackerFirst
+                ? BattleKernel.fight(CombatLog.ATTACKER, attacker.getCurrentLifePoints(), attackerDamage,
+                        defender.getCurrentLifePoints(), defenderDamage, damageRoll, combat)
+                : BattleKernel.fight(CombatLog.DEFENDER, defender.getCurrentLifePoints(), defenderDamage,
+                        attacker.getCurrentLifePoints(), attackerDamage, damageRoll, combat);
+    }
+
+    private List<String> render(Character attacker, Character defender, CombatLog combat, int outcome) {
+        List<String> logLines = new ArrayList<>(combat.hits() + 2);
+        logLines.add(openingLine(attacker, defender));
+        for (int i = 0; i < combat.hits(); i++) {
+            Character atk = combat.side(i) == CombatLog.ATTACKER ? attacker : defender;
+            Character def = atk == attacker ? defender : attacker;
+            logLines.add(hitLine(atk, def, combat.damage(i), combat.remainingHp(i)));
+        }
+        Character winner = BattleKernel.winner(outcome) == CombatLog.ATTACKER ? attacker : defender;
+        logLines.add(closingLine(winner, BattleKernel.winnerHp(outcome)));
+        return logLines;
+    }
+
+    private static String openingLine(Character attacker, Character defender) {
+        return String.format("Battle between %s (%s) - %d HP and %s (%s) - %d HP begins!",
+                attacker.getName(), attacker.getJob(), attacker.getCurrentLifePoints(),
+                defender.getName(), defender.getJob(), defender.getCurrentLifePoints());
+    }
+
+    private static String hitLine(Character striker, Character target, int damage, int remainingHp) {
+        return String.format("%s attacks %s for %d damage, %s has %d HP remaining.",
+                striker.getName(), target.getName(), damage, target.getName(), remainingHp);
+    }
+
+    private static String closingLine(Character winner, int winnerHp) {
+        return String.format("%s wins the battle! %s still has %d HP remaining!",
+                winner.getName(), winner.getName(), winnerHp);
+    }
+
+    private static CombatLog combatLog() {
+        CombatLog combat = COMBAT_LOGS.get();
+        combat.reset();
+        return combat;
+    }
+
+    private boolean commit(UUID battleId, Character attacker, Character attackerAfter, Character defender,
+                           Character defenderAfter, CombatLog combat, int outcome) {
+        return locks.withBoth(attacker.getId(), defender.getId(), () -> {
+            // Every writer of an existing character holds its lock, so once both snapshots are
+            // current the compare-and-set cannot fail. Journal first: a failed or oversized append
+            // then leaves nothing committed, and records stay in commit order.
+            boolean journaled = journal.enabled();
+            if (journaled) {
+                if (!current(attacker) || !current(defender)) {
+                    return false;
+                }
+                journal.battle(battleId, attacker, defender, combat, outcome);
             }
-            logLines.add(String.format("Battle between %s (%s) - %d HP and %s (%s) - %d HP begins!",
-                    attacker.getName(), attacker.getJob(), attacker.getCurrentLifePoints(),
-                    defender.getName(), defender.getJob(), defender.getCurrentLifePoints()));
-
-            // Determine first attacker by speed (precompute speeds once)
-            int attackerSpeed = resolver.forJob(attacker.getJob()).speed(attacker.getStats());
-            int defenderSpeed = resolver.forJob(defender.getJob()).speed(defender.getStats());
-            Character first = attackerSpeed == defenderSpeed ? attacker : (attackerSpeed > defenderSpeed ? attacker : defender);
-            Character second = first == attacker ? defender : attacker;
-
-            // Precompute constant damage per attacker for current battle
-            int firstDamage = resolver.forJob(first.getJob()).attack(first.getStats());
-            int secondDamage = resolver.forJob(second.getJob()).attack(second.getStats());
-
-            while (attacker.isAlive() && defender.isAlive()) {
-                executeHit(first, second, firstDamage, logLines);
-                if (!second.isAlive()) break;
-                executeHit(second, first, secondDamage, logLines);
+            if (!repository.compareAndSetBoth(attacker, attackerAfter, defender, defenderAfter)) {
+                if (journaled) {
+                    throw new IllegalStateException("Battle was journaled but a write outside the character locks prevented its commit");
+                }
+                return false;
             }
+            return true;
+        });
+    }
 
-            Character winner = attacker.isAlive() ? attacker : defender;
-            Character loser = attacker.isAlive() ? defender : attacker;
-            logLines.add(String.format("%s wins the battle! %s still has %d HP remaining!",
-                    winner.getName(), winner.getName(), winner.getCurrentLifePoints()));
-            log.info("Battle finished: winner={} loser={}", winner.getId(), loser.getId());
-            if (meterRegistry != null) {
-                meterRegistry.counter("battle.completed").increment();
-            }
+    private boolean current(Character snapshot) {
+        return repository.findById(snapshot.getId())
+                .map(stored -> stored.getVersion() == snapshot.getVersion())
+                .orElse(false);
+    }
 
-            // Persist state
-            repository.save(attacker);
-            repository.save(defender);
+    /** The fight loop of {@link BattleKernel#fight} unrolled into one hit per {@link #next()}. */
+    private final class LiveBattle implements Iterator<BattleEvent> {
+        private final UUID battleId = UUID.randomUUID();
+        private final Character[] sides;
+        private final int[] hp;
+        private final int[] attack;
+        private final CombatLog combat;
+        private int striker;
+        private int hits;
+        private int winner = -1;
+        private boolean started;
+        private boolean done;
 
-            return BattleResponse.builder()
-                    .winnerId(winner.getId().toString())
-                    .loserId(loser.getId().toString())
-                    .battleLog(logLines)
+        LiveBattle(Character attacker, Character defender) {
+            DerivedStats a = resolver.derived(attacker);
+            DerivedStats d = resolver.derived(defender);
+            this.sides = new Character[]{attacker, defender};
+            this.hp = new int[]{attacker.getCurrentLifePoints(), defender.getCurrentLifePoints()};
+            this.attack = new int[]{a.getAttack(), d.getAttack()};
+            this.striker = a.getSpeed() >= d.getSpeed() ? CombatLog.ATTACKER : CombatLog.DEFENDER;
+            // Not the thread's reusable log: consecutive hits may be pulled on different threads
+            this.combat = journal.enabled() ? new CombatLog() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !done;
+        }
+
+        @Override
+        public BattleEvent next() {
+            if (done) {
+                throw new NoSuchElementException();
+            }
+            if (!started) {
+                started = true;
+                MDC.put("battleId", battleId.toString());
+                try {
+                    started(sides[CombatLog.ATTACKER], sides[CombatLog.DEFENDER]);
+                } finally {
+                    MDC.remove("battleId");
+                }
+                return BattleEvent.builder()
+                        .type(BattleEvent.Type.START)
+                        .message(openingLine(sides[CombatLog.ATTACKER], sides[CombatLog.DEFENDER]))
+                        .build();
+            }
+            if (winner < 0) {
+                return hit();
+            }
+            done = true;
+            return end();
+        }
+
+        private BattleEvent hit() {
+            int target = 1 - striker;
+            int damage = damageRoll.applyAsInt(attack[striker]);
+            hp[target] = Math.max(0, hp[target] - damage);
+            if (combat != null) {
+                combat.record(striker, damage, hp[target]);
+            }
+            BattleEvent event = BattleEvent.builder()
+                    .type(BattleEvent.Type.HIT)
+                    .message(hitLine(sides[striker], sides[target], damage, hp[target]))
+                    .hit(++hits)
+                    .strikerId(sides[striker].getId().toString())
+                    .damage(damage)
+                    .remainingHp(hp[target])
                     .build();
-        } finally {
-            MDC.remove("battleId");
+            if (hp[target] == 0) {
+                winner = striker;
+            } else {
+                striker = target;
+            }
+            return event;
         }
-    }
 
-    private void executeHit(Character atk, Character def, int baseDamage, List<String> logLines) {
-        int damage = calculateDamage(baseDamage);
-        int newHp = Math.max(0, def.getCurrentLifePoints() - damage);
-        def.setCurrentLifePoints(newHp);
-        if (newHp == 0) {
-            def.setAlive(false);
+        private BattleEvent end() {
+            MDC.put("battleId", battleId.toString());
+            try {
+                if (finish(battleId, sides[CombatLog.ATTACKER], sides[CombatLog.DEFENDER], combat,
+                        BattleKernel.pack(winner, hp[winner]))) {
+                    return BattleEvent.builder()
+                            .type(BattleEvent.Type.END)
+                            .message(closingLine(sides[winner], hp[winner]))
+                            .winnerId(sides[winner].getId().toString())
+                            .loserId(sides[1 - winner].getId().toString())
+                            .build();
+                }
+                conflicted(1);
+                return BattleEvent.builder()
+                        .type(BattleEvent.Type.ERROR)
+                        .code("CONFLICT")
+                        .message("Battle could not be committed due to concurrent updates")
+                        .build();
+            } finally {
+                MDC.remove("battleId");
+            }
         }
-        logLines.add(String.format("%s attacks %s for %d damage, %s has %d HP remaining.",
-                atk.getName(), def.getName(), damage, def.getName(), newHp));
+    }
+
+    /** The damage roll battles use, {@link #calculateDamage} included, for simulations outside this service. */
+    public IntUnaryOperator damageRoll() {
+        return damageRoll;
     }
 
     protected int calculateDamage(int attack) {
         // Por padrão, retorna um valor entre attack/2 e attack (inclusive)
         // Isso simula a variação de dano em um RPG típico
-        int minDamage = attack / 2;
-        int maxDamage = attack;
-        return java.util.concurrent.ThreadLocalRandom.current().nextInt(minDamage, maxDamage + 1);
+        return BattleKernel.rollDamage(attack);
     }
 }
@@ -1,31 +1,61 @@
 package com.drapala.rpg.service;
 
+import com.drapala.rpg.dto.CharacterPage;
 import com.drapala.rpg.dto.CharacterResponse;
 import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.dto.OpponentResponse;
 import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
 import com.drapala.rpg.model.Job;
 import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.repository.CharacterQuery;
 import com.drapala.rpg.repository.CharacterRepository;
-import com.drapala.rpg.service.stats.StatsCalculator;
+import com.drapala.rpg.service.journal.BattleJournal;
+import com.drapala.rpg.service.lock.CharacterLocks;
+import com.drapala.rpg.service.matchmaking.PowerRatingIndex;
 import com.drapala.rpg.service.stats.StatsCalculatorResolver;
 import com.drapala.rpg.service.stats.StatsFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-
-import static java.util.stream.Collectors.toList;
+import java.util.function.Consumer;
 
 @Service
 public class CharacterService {
     private final CharacterRepository repository;
     private final StatsFactory statsFactory;
     private final StatsCalculatorResolver calculatorResolver;
+    private final BattleJournal journal;
+    private final PowerRatingIndex ratings;
+    private final CharacterLocks locks;
 
     public CharacterService(CharacterRepository repository, StatsFactory statsFactory, StatsCalculatorResolver calculatorResolver) {
+        this(repository, statsFactory, calculatorResolver, BattleJournal.NOOP);
+    }
+
+    public CharacterService(CharacterRepository repository, StatsFactory statsFactory, StatsCalculatorResolver calculatorResolver,
+                            BattleJournal journal) {
+        this(repository, statsFactory, calculatorResolver, journal, null);
+    }
+
+    public CharacterService(CharacterRepository repository, StatsFactory statsFactory, StatsCalculatorResolver calculatorResolver,
+                            BattleJournal journal, PowerRatingIndex ratings) {
+        this(repository, statsFactory, calculatorResolver, journal, ratings,
+                new CharacterLocks(CharacterLocks.DEFAULT_STRIPES, null));
+    }
+
+    @Autowired
+    public CharacterService(CharacterRepository repository, StatsFactory statsFactory, StatsCalculatorResolver calculatorResolver,
+                            BattleJournal journal, PowerRatingIndex ratings, CharacterLocks locks) {
         this.repository = repository;
         this.statsFactory = statsFactory;
         this.calculatorResolver = calculatorResolver;
+        this.journal = journal;
+        this.ratings = ratings;
+        this.locks = locks;
     }
 
     public CharacterResponse create(CreateCharacterRequest req) {
@@ -36,12 +66,39 @@ public class CharacterService {
                 .job(req.getJob())
                 .stats(stats)
                 .build();
-        repository.save(c);
+        // Journaled before it is stored, under its lock, so its battles can only be journaled after it
+        locks.with(c.getId(), () -> {
+            journal.characterCreated(c);
+            return repository.save(c);
+        });
+        if (ratings != null) {
+            ratings.update(c);
+        }
         return toResponse(c);
     }
 
-    public List<CharacterResponse> list() {
-        return repository.findAll().stream().map(this::toResponse).collect(toList());
+    /** One page of matches in ID order; fetches one extra row to tell whether another page exists. */
+    public CharacterPage page(CharacterQuery query, UUID after, int limit) {
+        List<Character> found = repository.findPage(query, after, limit + 1);
+        boolean more = found.size() > limit;
+        int size = more ? limit : found.size();
+        List<CharacterResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(toResponse(found.get(i)));
+        }
+        return CharacterPage.builder()
+                .items(items)
+                .nextCursor(more ? found.get(size - 1).getId().toString() : null)
+                .build();
+    }
+
+    /** Hands every match to {@code sink} as it is read, without collecting them. */
+    public void stream(CharacterQuery query, Consumer<CharacterResponse> sink) {
+        repository.forEach(query, c -> sink.accept(toResponse(c)));
+    }
+
+    public long count(CharacterQuery query) {
+        return repository.count(query);
     }
 
     public CharacterResponse get(UUID id) {
@@ -50,10 +107,37 @@ public class CharacterService {
         return toResponse(c);
     }
 
-    private CharacterResponse toResponse(Character c) {
-        StatsCalculator calc = calculatorResolver.forJob(c.getJob());
-        int attack = calc.attack(c.getStats());
-        int speed = calc.speed(c.getStats());
+    /**
+     * Alive characters whose power rating is closest to {@code id}'s, nearest first. Index entries
+     * are re-read from the repository, so a character that died meanwhile is left out.
+     */
+    public List<OpponentResponse> opponents(UUID id, int limit, long maxGap) {
+        if (ratings == null) {
+            throw new IllegalStateException("Power rating index is not available");
+        }
+        Character c = repository.findById(id)
+                .orElseThrow(() -> new java.util.NoSuchElementException("Character not found: " + id));
+        if (!c.isAlive()) {
+            throw new IllegalStateException("Character must be alive to look for opponents");
+        }
+        long rating = ratings.rating(c);
+        List<OpponentResponse> opponents = new ArrayList<>(limit);
+        for (PowerRatingIndex.Entry e : ratings.nearest(rating, id, limit, maxGap)) {
+            repository.findById(e.id()).filter(Character::isAlive).ifPresent(o -> {
+                long theirs = ratings.rating(o);
+                opponents.add(OpponentResponse.builder()
+                        .character(toResponse(o))
+                        .powerRating(theirs)
+                        .ratingGap(Math.abs(theirs - rating))
+                        .build());
+            });
+        }
+        return opponents;
+    }
+
+    /** The API view of {@code c}, with attack and speed derived from its job. */
+    public CharacterResponse toResponse(Character c) {
+        DerivedStats derived = calculatorResolver.derived(c);
         return CharacterResponse.builder()
                 .id(c.getId().toString())
                 .name(c.getName())
@@ -64,8 +148,8 @@ public class CharacterService {
                 .strength(c.getStats().getStrength())
                 .dexterity(c.getStats().getDexterity())
                 .intelligence(c.getStats().getIntelligence())
-                .attack(attack)
-                .speed(speed)
+                .attack(derived.getAttack())
+                .speed(derived.getSpeed())
                 .build();
     }
 }
@@ -0,0 +1,93 @@
+package com.drapala.rpg.service.battle;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Primitive battle loop: the faster side strikes first and both sides alternate until one of
+ * them drops to 0 HP. The outcome is packed into a single {@code int} so that a battle allocates
+ * nothing beyond what the optional {@link CombatLog} needs to grow.
+ */
+public final class BattleKernel {
+
+    private BattleKernel() {
+    }
+
+    /**
+     * @param firstSide {@link CombatLog#ATTACKER} or {@link CombatLog#DEFENDER}, the side striking first
+     * @param damageRoll maps a side's attack to the damage of a single hit
+     * @param log receives every hit; {@code null} when nobody will read the hits
+     * @return the packed outcome, see {@link #winner(int)} and {@link #winnerHp(int)}
+     */
+    public static int fight(int firstSide, int firstHp, int firstAttack, int secondHp, int secondAttack,
+                            IntUnaryOperator damageRoll, CombatLog log) {
+        int secondSide = 1 - firstSide;
+        while (true) {
+            int damage = damageRoll.applyAsInt(firstAttack);
+            secondHp = Math.max(0, secondHp - damage);
+            if (log != null) {
+                log.record(firstSide, damage, secondHp);
+            }
+            if (secondHp == 0) {
+                return pack(firstSide, firstHp);
+            }
+            damage = damageRoll.applyAsInt(secondAttack);
+            firstHp = Math.max(0, firstHp - damage);
+            if (log != null) {
+                log.record(secondSide, damage, firstHp);
+            }
+            if (firstHp == 0) {
+                return pack(secondSide, secondHp);
+            }
+        }
+    }
+
+    /**
+     * Same loop as {@link #fight(int, int, int, int, int, IntUnaryOperator, CombatLog)} with the default
+     * damage model drawn from {@code random}, for simulations that run millions of battles.
+     */
+    public static int fight(int firstSide, int firstHp, int firstAttack, int secondHp, int secondAttack,
+                            SplittableRandom random) {
+        int firstMin = minDamage(firstAttack);
+        int firstBound = maxDamage(firstAttack) + 1;
+        int secondMin = minDamage(secondAttack);
+        int secondBound = maxDamage(secondAttack) + 1;
+        while (true) {
+            secondHp = Math.max(0, secondHp - random.nextInt(firstMin, firstBound));
+            if (secondHp == 0) {
+                return pack(firstSide, firstHp);
+            }
+            firstHp = Math.max(0, firstHp - random.nextInt(secondMin, secondBound));
+            if (firstHp == 0) {
+                return pack(1 - firstSide, secondHp);
+            }
+        }
+    }
+
+    /** Damage of a single hit is drawn uniformly from {@code [minDamage, maxDamage]}. */
+    public static int minDamage(int attack) {
+        return attack / 2;
+    }
+
+    public static int maxDamage(int attack) {
+        return attack;
+    }
+
+    public static int rollDamage(int attack) {
+        return ThreadLocalRandom.current().nextInt(minDamage(attack), maxDamage(attack) + 1);
+    }
+
+    public static int winner(int outcome) {
+        return outcome & 1;
+    }
+
+    public static int winnerHp(int outcome) {
+        return outcome >>> 1;
+    }
+
+    /** The outcome of a battle won by {@code side} with {@code hp} left, packed as {@code fight} returns it. */
+    public static int pack(int side, int hp) {
+        return (hp << 1) | side;
+    }
+}
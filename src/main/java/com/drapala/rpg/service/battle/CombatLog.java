@@ -0,0 +1,54 @@
+package com.drapala.rpg.service.battle;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, primitive record of the hits of one battle: for every hit the striking side, the
+ * damage dealt and the target's remaining HP, packed into a single {@code int[]}.
+ */
+public final class CombatLog {
+    public static final int ATTACKER = 0;
+    public static final int DEFENDER = 1;
+
+    private static final int INTS_PER_HIT = 3;
+    private static final int INITIAL_HITS = 32;
+    private static final int RETAINED_HITS = 4096;
+
+    private int[] events = new int[INITIAL_HITS * INTS_PER_HIT];
+    private int hits;
+
+    public void reset() {
+        // Don't let one marathon battle pin a huge buffer to the thread forever
+        if (events.length > RETAINED_HITS * INTS_PER_HIT) {
+            events = new int[INITIAL_HITS * INTS_PER_HIT];
+        }
+        hits = 0;
+    }
+
+    public void record(int side, int damage, int remainingHp) {
+        int i = hits * INTS_PER_HIT;
+        if (i + INTS_PER_HIT > events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        events[i] = side;
+        events[i + 1] = damage;
+        events[i + 2] = remainingHp;
+        hits++;
+    }
+
+    public int hits() {
+        return hits;
+    }
+
+    public int side(int hit) {
+        return events[hit * INTS_PER_HIT];
+    }
+
+    public int damage(int hit) {
+        return events[hit * INTS_PER_HIT + 1];
+    }
+
+    public int remainingHp(int hit) {
+        return events[hit * INTS_PER_HIT + 2];
+    }
+}
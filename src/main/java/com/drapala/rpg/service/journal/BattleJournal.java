@@ -0,0 +1,36 @@
+package com.drapala.rpg.service.journal;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.service.battle.CombatLog;
+
+import java.util.UUID;
+
+/**
+ * Durable, append-only record of character creations and committed battles. The default methods
+ * are no-ops, so {@link #NOOP} stands in when journaling is disabled.
+ */
+public interface BattleJournal extends AutoCloseable {
+    BattleJournal NOOP = new BattleJournal() {
+    };
+
+    /** Whether battles need their hits captured for the journal. */
+    default boolean enabled() {
+        return false;
+    }
+
+    default void characterCreated(Character character) {
+    }
+
+    /**
+     * @param attacker snapshot the battle was simulated on; the committed state has version + 1
+     * @param defender same for the defender
+     * @param combat   every hit of the battle
+     * @param outcome  packed battle kernel outcome
+     */
+    default void battle(UUID battleId, Character attacker, Character defender, CombatLog combat, int outcome) {
+    }
+
+    @Override
+    default void close() {
+    }
+}
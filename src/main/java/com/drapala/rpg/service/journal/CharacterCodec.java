@@ -0,0 +1,66 @@
+package com.drapala.rpg.service.journal;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.service.stats.JobRegistry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/** Binary form of a character snapshot, shared by journal records and store snapshots. */
+final class CharacterCodec {
+    private CharacterCodec() {
+    }
+
+    static byte[] name(Character c) {
+        return c.getName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] job(Character c) {
+        return c.getJob().name().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int size(byte[] name, byte[] job) {
+        return 16 + 2 + name.length + 1 + job.length + 16 + 4 + 1 + 8;
+    }
+
+    static void write(ByteBuffer buf, Character c, byte[] name, byte[] job) {
+        putUuid(buf, c.getId());
+        buf.putShort((short) name.length).put(name);
+        buf.put((byte) job.length).put(job);
+        Stats s = c.getStats();
+        buf.putInt(s.getLifePoints()).putInt(s.getStrength()).putInt(s.getDexterity()).putInt(s.getIntelligence());
+        buf.putInt(c.getCurrentLifePoints()).put((byte) (c.isAlive() ? 1 : 0)).putLong(c.getVersion());
+    }
+
+    static Character read(ByteBuffer buf, JobRegistry jobs) {
+        UUID id = getUuid(buf);
+        byte[] name = new byte[buf.getShort() & 0xFFFF];
+        buf.get(name);
+        byte[] job = new byte[buf.get() & 0xFF];
+        buf.get(job);
+        Stats stats = Stats.builder()
+                .lifePoints(buf.getInt())
+                .strength(buf.getInt())
+                .dexterity(buf.getInt())
+                .intelligence(buf.getInt())
+                .build();
+        return Character.builder()
+                .id(id)
+                .name(new String(name, StandardCharsets.UTF_8))
+                .job(jobs.job(new String(job, StandardCharsets.UTF_8)))
+                .stats(stats)
+                .build()
+                .withLifePoints(buf.getInt(), buf.get() == 1)
+                .withVersion(buf.getLong());
+    }
+
+    static void putUuid(ByteBuffer buf, UUID id) {
+        buf.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    static UUID getUuid(ByteBuffer buf) {
+        return new UUID(buf.getLong(), buf.getLong());
+    }
+}
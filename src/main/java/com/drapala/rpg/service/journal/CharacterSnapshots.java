@@ -0,0 +1,235 @@
+package com.drapala.rpg.service.journal;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.lock.CharacterLocks;
+import com.drapala.rpg.service.stats.JobRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary snapshots of the in-memory store, each tagged with the journal position taken
+ * before the store was read, while holding every character lock. Commits journal before they
+ * store, both under those locks, so every record before the position is already in the store when
+ * the walk starts. Startup restores the newest intact snapshot with one sequential read
+ * and replays the journal from its position; journal records carry absolute state, so changes
+ * that made it into both the snapshot and the replayed tail are applied twice harmlessly.
+ *
+ * <p>Layout: {@code [int magic][long journalPosition][character...][long count][int crc32c]}, the
+ * checksum covering everything before the trailer.
+ */
+@Slf4j
+public class CharacterSnapshots implements AutoCloseable {
+    private static final int MAGIC = 0x52504753;
+    private static final int HEADER = 4 + 8;
+    private static final int TRAILER = 8 + 4;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path dir;
+    private final int retained;
+    private final ScheduledExecutorService scheduler;
+    private final JobRegistry jobs;
+    private final CharacterLocks locks;
+
+    public CharacterSnapshots(Path dir, int retained) {
+        this(dir, retained, JobRegistry.defaults());
+    }
+
+    public CharacterSnapshots(Path dir, int retained, JobRegistry jobs) {
+        this(dir, retained, jobs, new CharacterLocks(CharacterLocks.DEFAULT_STRIPES, null));
+    }
+
+    /** {@code jobs} resolves the job names stored in snapshots; {@code locks} are the ones commits hold. */
+    public CharacterSnapshots(Path dir, int retained, JobRegistry jobs, CharacterLocks locks) {
+        if (retained < 1) {
+            throw new IllegalArgumentException("At least one snapshot must be retained");
+        }
+        this.dir = dir;
+        this.retained = retained;
+        this.jobs = jobs;
+        this.locks = locks;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "character-snapshots");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Periodically snapshots {@code repository} and drops journal segments no retained snapshot needs. */
+    public void schedule(InMemoryCharacterRepository repository, MappedBattleJournal journal, long intervalSeconds) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(repository, journal);
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Character snapshot failed", ex);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void snapshot(InMemoryCharacterRepository repository, MappedBattleJournal journal) throws IOException {
+        // Waits out commits that are journaled but not yet stored; later ones are replayed after the position
+        write(repository, locks.withAll(journal::position));
+        List<Path> snapshots = snapshots();
+        long oldest = position(snapshots.get(snapshots.size() - 1));
+        journal.deleteSegmentsBefore(oldest);
+    }
+
+    public Path write(InMemoryCharacterRepository repository, long journalPosition) throws IOException {
+        Files.createDirectories(dir);
+        long start = System.nanoTime();
+        Path target = dir.resolve(String.format("%s%020d%s", PREFIX, journalPosition, SUFFIX));
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+        long count;
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new Writer(ch);
+            writer.buf.putInt(MAGIC).putLong(journalPosition);
+            try {
+                repository.forEach(writer::put);
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            count = writer.finish();
+            ch.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Wrote snapshot of {} characters at journal position {} in {} ms",
+                count, journalPosition, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        List<Path> snapshots = snapshots();
+        for (Path old : snapshots.subList(Math.min(retained, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(old);
+        }
+        return target;
+    }
+
+    /**
+     * Restores the newest intact snapshot into {@code repository}.
+     *
+     * @return the journal position to replay from, 0 when there is no usable snapshot
+     */
+    public long restoreLatest(InMemoryCharacterRepository repository) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        for (Path snapshot : snapshots()) {
+            ByteBuffer buf;
+            try (FileChannel ch = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            }
+            if (!intact(buf)) {
+                log.warn("Skipping damaged snapshot {}", snapshot);
+                continue;
+            }
+            long start = System.nanoTime();
+            int end = buf.limit() - TRAILER;
+            buf.position(HEADER);
+            long count = 0;
+            while (buf.position() < end) {
+                repository.restore(CharacterCodec.read(buf, jobs));
+                count++;
+            }
+            log.info("Restored {} characters from {} in {} ms",
+                    count, snapshot.getFileName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return buf.getLong(4);
+        }
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+
+    private static boolean intact(ByteBuffer buf) {
+        if (buf.limit() < HEADER + TRAILER || buf.getInt(0) != MAGIC) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buf.slice(0, buf.limit() - TRAILER));
+        return (int) crc.getValue() == buf.getInt(buf.limit() - 4);
+    }
+
+    /** Snapshot files, newest first. */
+    private List<Path> snapshots() throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).forEach(snapshots::add);
+        }
+        snapshots.sort(Comparator.comparingLong(CharacterSnapshots::position).reversed());
+        return snapshots;
+    }
+
+    private static long position(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /** Streams encoded characters through one reusable direct buffer, checksumming as it goes. */
+    private static final class Writer {
+        final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        final CRC32C crc = new CRC32C();
+        final FileChannel ch;
+        long count;
+
+        Writer(FileChannel ch) {
+            this.ch = ch;
+        }
+
+        void put(Character c) {
+            byte[] name = CharacterCodec.name(c);
+            byte[] job = CharacterCodec.job(c);
+            if (buf.remaining() < CharacterCodec.size(name, job)) {
+                drain();
+            }
+            CharacterCodec.write(buf, c, name, job);
+            count++;
+        }
+
+        long finish() {
+            drain();
+            buf.putLong(count).putInt((int) crc.getValue());
+            buf.flip();
+            write();
+            return count;
+        }
+
+        private void drain() {
+            buf.flip();
+            crc.update(buf.duplicate());
+            write();
+        }
+
+        private void write() {
+            try {
+                while (buf.hasRemaining()) {
+                    ch.write(buf);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            buf.clear();
+        }
+    }
+}
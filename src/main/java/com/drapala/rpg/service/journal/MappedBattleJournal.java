@@ -0,0 +1,294 @@
+package com.drapala.rpg.service.journal;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.battle.BattleKernel;
+import com.drapala.rpg.service.battle.CombatLog;
+import com.drapala.rpg.service.stats.JobRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal on memory-mapped, fixed-size segment files. Appends are a few buffer writes under one
+ * lock; a background thread forces the current segment to disk every fsync interval, so a crash
+ * loses at most that window.
+ *
+ * <p>Each record is {@code [int length][int crc32c][payload]}, and the length is written last so a
+ * torn append reads as the end of the journal. Positions are global: a segment file is named after
+ * the position of its first byte, and the next segment starts where the previous one stopped.
+ */
+@Slf4j
+public class MappedBattleJournal implements BattleJournal {
+    static final byte CHARACTER_CREATED = 1;
+    static final byte BATTLE = 2;
+
+    private static final int HEADER = 8;
+    private static final String SUFFIX = ".journal";
+
+    private final Path dir;
+    private final int segmentSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService syncer;
+    private final JobRegistry jobs;
+    private volatile MappedByteBuffer segment;
+    private long segmentBase;
+
+    public MappedBattleJournal(Path dir, int segmentSize, long fsyncIntervalMillis) throws IOException {
+        this(dir, segmentSize, fsyncIntervalMillis, JobRegistry.defaults());
+    }
+
+    /** {@code jobs} resolves the job names of replayed character records. */
+    public MappedBattleJournal(Path dir, int segmentSize, long fsyncIntervalMillis, JobRegistry jobs) throws IOException {
+        if (segmentSize <= HEADER) {
+            throw new IllegalArgumentException("Journal segment size too small");
+        }
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.jobs = jobs;
+        Files.createDirectories(dir);
+        List<Long> bases = segmentBases();
+        open(bases.isEmpty() ? 0 : bases.get(bases.size() - 1));
+        segment.position(validEnd(segment, 0, new CRC32C()));
+
+        this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "battle-journal-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(() -> segment.force(), fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean enabled() {
+        return true;
+    }
+
+    /** Global position right after the last appended record. */
+    public long position() {
+        lock.lock();
+        try {
+            return segmentBase + segment.position();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void characterCreated(Character c) {
+        byte[] name = CharacterCodec.name(c);
+        byte[] job = CharacterCodec.job(c);
+        int length = 1 + CharacterCodec.size(name, job);
+        lock.lock();
+        try {
+            ByteBuffer buf = reserve(length);
+            int start = buf.position();
+            buf.put(CHARACTER_CREATED);
+            CharacterCodec.write(buf, c, name, job);
+            seal(buf, start, length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void battle(UUID battleId, Character attacker, Character defender, CombatLog combat, int outcome) {
+        int hits = combat.hits();
+        int length = 1 + 16 + 8 + 2 * (16 + 8 + 4) + 1 + 4 + 4 + 4 * hits;
+        lock.lock();
+        try {
+            ByteBuffer buf = reserve(length);
+            int start = buf.position();
+            buf.put(BATTLE);
+            CharacterCodec.putUuid(buf, battleId);
+            buf.putLong(System.currentTimeMillis());
+            CharacterCodec.putUuid(buf, attacker.getId());
+            buf.putLong(attacker.getVersion()).putInt(attacker.getCurrentLifePoints());
+            CharacterCodec.putUuid(buf, defender.getId());
+            buf.putLong(defender.getVersion()).putInt(defender.getCurrentLifePoints());
+            buf.put((byte) BattleKernel.winner(outcome)).putInt(BattleKernel.winnerHp(outcome));
+            buf.putInt(hits);
+            for (int i = 0; i < hits; i++) {
+                buf.putInt(combat.damage(i) << 1 | combat.side(i));
+            }
+            seal(buf, start, length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies every record from {@code fromPosition} on to {@code repository}. Records carry
+     * absolute state, so replaying a record whose effect is already present is harmless.
+     *
+     * @return number of records applied
+     */
+    public long replay(long fromPosition, InMemoryCharacterRepository repository) throws IOException {
+        long applied = 0;
+        CRC32C check = new CRC32C();
+        List<Long> bases = segmentBases();
+        for (int i = 0; i < bases.size(); i++) {
+            long base = bases.get(i);
+            if (i + 1 < bases.size() && bases.get(i + 1) <= fromPosition) {
+                continue;
+            }
+            ByteBuffer buf;
+            try (FileChannel ch = FileChannel.open(segmentPath(base), StandardOpenOption.READ)) {
+                buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            }
+            int offset = (int) Math.max(0, fromPosition - base);
+            int length;
+            while ((length = recordLength(buf, offset, check)) > 0) {
+                apply(buf.slice(offset + HEADER, length), repository, jobs);
+                offset += HEADER + length;
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Deletes segments whose records all lie before {@code position}; the current segment is kept.
+     *
+     * @return number of deleted segment files
+     */
+    public int deleteSegmentsBefore(long position) throws IOException {
+        List<Long> bases = segmentBases();
+        int deleted = 0;
+        for (int i = 0; i + 1 < bases.size() && bases.get(i + 1) <= position; i++) {
+            Files.deleteIfExists(segmentPath(bases.get(i)));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @Override
+    public void close() {
+        syncer.shutdown();
+        lock.lock();
+        try {
+            segment.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ByteBuffer reserve(int length) {
+        if (HEADER + length > segmentSize) {
+            throw new IllegalStateException("Journal record larger than a segment");
+        }
+        if (segment.remaining() < HEADER + length) {
+            MappedByteBuffer full = segment;
+            full.force();
+            try {
+                open(segmentBase + full.position());
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not roll journal segment", ex);
+            }
+        }
+        segment.position(segment.position() + HEADER);
+        return segment;
+    }
+
+    private void seal(ByteBuffer buf, int start, int length) {
+        crc.reset();
+        crc.update(buf.slice(start, length));
+        buf.putInt(start - 4, (int) crc.getValue());
+        buf.putInt(start - HEADER, length);
+    }
+
+    private void open(long base) throws IOException {
+        try (FileChannel ch = FileChannel.open(segmentPath(base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segmentBase = base;
+    }
+
+    private Path segmentPath(long base) {
+        return dir.resolve(String.format("%020d%s", base, SUFFIX));
+    }
+
+    private List<Long> segmentBases() throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .forEach(name -> bases.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length()))));
+        }
+        bases.sort(null);
+        return bases;
+    }
+
+    private static int validEnd(ByteBuffer buf, int offset, CRC32C check) {
+        int length;
+        while ((length = recordLength(buf, offset, check)) > 0) {
+            offset += HEADER + length;
+        }
+        return offset;
+    }
+
+    /** Length of the intact record at {@code offset}, or -1 where the written data ends. */
+    private static int recordLength(ByteBuffer buf, int offset, CRC32C check) {
+        if (offset + HEADER > buf.limit()) {
+            return -1;
+        }
+        int length = buf.getInt(offset);
+        if (length <= 0 || offset + HEADER + length > buf.limit()) {
+            return -1;
+        }
+        check.reset();
+        check.update(buf.slice(offset + HEADER, length));
+        return (int) check.getValue() == buf.getInt(offset + 4) ? length : -1;
+    }
+
+    private static void apply(ByteBuffer p, InMemoryCharacterRepository repository, JobRegistry jobs) {
+        byte type = p.get();
+        if (type == CHARACTER_CREATED) {
+            repository.restore(CharacterCodec.read(p, jobs));
+        } else if (type == BATTLE) {
+            applyBattle(p, repository);
+        } else {
+            log.warn("Skipping journal record of unknown type {}", type);
+        }
+    }
+
+    private static void applyBattle(ByteBuffer p, InMemoryCharacterRepository repository) {
+        CharacterCodec.getUuid(p); // battle id
+        p.getLong(); // timestamp
+        UUID attackerId = CharacterCodec.getUuid(p);
+        long attackerVersion = p.getLong();
+        p.getInt();
+        UUID defenderId = CharacterCodec.getUuid(p);
+        long defenderVersion = p.getLong();
+        p.getInt();
+        boolean attackerWins = p.get() == CombatLog.ATTACKER;
+        int winnerHp = p.getInt();
+
+        Character attacker = repository.findById(attackerId).orElse(null);
+        Character defender = repository.findById(defenderId).orElse(null);
+        if (attacker == null || defender == null) {
+            log.warn("Skipping journaled battle between unknown characters {} and {}", attackerId, defenderId);
+            return;
+        }
+        repository.restore(attacker.withLifePoints(attackerWins ? winnerHp : 0, attackerWins).withVersion(attackerVersion + 1));
+        repository.restore(defender.withLifePoints(attackerWins ? 0 : winnerHp, !attackerWins).withVersion(defenderVersion + 1));
+    }
+}
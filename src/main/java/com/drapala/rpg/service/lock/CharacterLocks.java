@@ -0,0 +1,110 @@
+package com.drapala.rpg.service.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks guarding character state. Both participants of a battle are locked in ascending
+ * stripe order, so two battles can never wait on each other in a cycle, while battles on
+ * disjoint stripes proceed in parallel.
+ */
+@Component
+public class CharacterLocks {
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] stripes;
+    private final Counter[] contention;
+    private final int mask;
+
+    public CharacterLocks(@Value("${rpg.battle.lock-stripes:" + DEFAULT_STRIPES + "}") int stripeCount,
+                          MeterRegistry meterRegistry) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Lock stripe count must be positive");
+        }
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        this.contention = new Counter[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+            if (meterRegistry != null) {
+                contention[i] = meterRegistry.counter("battle.lock.contention", "stripe", String.valueOf(i));
+            }
+        }
+    }
+
+    public <T> T with(UUID id, Supplier<T> action) {
+        int stripe = stripeOf(id);
+        acquire(stripe);
+        try {
+            return action.get();
+        } finally {
+            stripes[stripe].unlock();
+        }
+    }
+
+    public <T> T withBoth(UUID first, UUID second, Supplier<T> action) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        acquire(low);
+        try {
+            if (high != low) {
+                acquire(high);
+            }
+            try {
+                return action.get();
+            } finally {
+                if (high != low) {
+                    stripes[high].unlock();
+                }
+            }
+        } finally {
+            stripes[low].unlock();
+        }
+    }
+
+    /** Runs {@code action} holding every stripe, taken in ascending order, so no character changes meanwhile. */
+    public <T> T withAll(Supplier<T> action) {
+        int held = 0;
+        try {
+            for (; held < stripes.length; held++) {
+                acquire(held);
+            }
+            return action.get();
+        } finally {
+            while (held > 0) {
+                stripes[--held].unlock();
+            }
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public int stripeOf(UUID id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void acquire(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        if (!lock.tryLock()) {
+            if (contention[stripe] != null) {
+                contention[stripe].increment();
+            }
+            lock.lock();
+        }
+    }
+}
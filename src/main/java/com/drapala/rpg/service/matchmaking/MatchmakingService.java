@@ -0,0 +1,214 @@
+package com.drapala.rpg.service.matchmaking;
+
+import com.drapala.rpg.dto.BattleBatchItem;
+import com.drapala.rpg.dto.BattleRequest;
+import com.drapala.rpg.dto.MatchmakingTicket;
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.repository.CharacterRepository;
+import com.drapala.rpg.service.BattleBatchService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pairs queued characters of similar power rating and fights them. Enqueueing is lock-free: a
+ * concurrent set rejects duplicates and tickets go onto a concurrent queue. A single scheduler
+ * thread drains the queue every tick, re-reads each waiting character, sorts them by rating and
+ * pairs neighbours; the pairs of a tick go to {@link BattleBatchService} as one batch. A character
+ * left without a partner waits for the next tick.
+ */
+@Service
+@Slf4j
+public class MatchmakingService implements AutoCloseable {
+    private final CharacterRepository repository;
+    private final PowerRatingIndex ratings;
+    private final BattleBatchService battles;
+    private final int maxPairsPerTick;
+    private final Queue<Ticket> incoming = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, Boolean> queued = new ConcurrentHashMap<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final ReentrantLock tickLock = new ReentrantLock();
+    /** Tickets carried over between ticks; guarded by the tick lock. */
+    private final List<Ticket> waiting = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private final Timer waitTimer;
+    private final DistributionSummary ratingGap;
+
+    public MatchmakingService(CharacterRepository repository, PowerRatingIndex ratings, BattleBatchService battles,
+                              MeterRegistry meterRegistry,
+                              @Value("${rpg.matchmaking.tick-ms:200}") long tickMillis,
+                              @Value("${rpg.matchmaking.max-pairs-per-tick:5000}") int maxPairsPerTick) {
+        if (maxPairsPerTick < 1) {
+            throw new IllegalArgumentException("Matchmaking must pair at least one couple per tick");
+        }
+        this.repository = repository;
+        this.ratings = ratings;
+        this.battles = battles;
+        this.maxPairsPerTick = maxPairsPerTick;
+        if (meterRegistry != null) {
+            meterRegistry.gauge("matchmaking.queue.size", queueSize);
+            this.waitTimer = meterRegistry.timer("matchmaking.wait");
+            this.ratingGap = DistributionSummary.builder("matchmaking.rating-gap")
+                    .description("Relative power rating difference of paired characters, in percent")
+                    .register(meterRegistry);
+        } else {
+            this.waitTimer = null;
+            this.ratingGap = null;
+        }
+        if (tickMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "matchmaking");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::tickQuietly, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public MatchmakingTicket enqueue(UUID characterId) {
+        Character c = repository.findById(characterId)
+                .orElseThrow(() -> new NoSuchElementException("Character not found: " + characterId));
+        if (!c.isAlive()) {
+            throw new IllegalStateException("Only alive characters can queue for a match");
+        }
+        if (queued.putIfAbsent(characterId, Boolean.TRUE) != null) {
+            throw new IllegalStateException("Character is already queued");
+        }
+        incoming.add(new Ticket(characterId, System.nanoTime()));
+        return MatchmakingTicket.builder()
+                .characterId(characterId.toString())
+                .queueSize(queueSize.incrementAndGet())
+                .build();
+    }
+
+    public int queueSize() {
+        return queueSize.get();
+    }
+
+    /**
+     * Runs one pairing round and fights its pairs.
+     *
+     * @return number of battles started
+     */
+    public int tick() {
+        tickLock.lock();
+        try {
+            return pairAndFight();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    private int pairAndFight() {
+        for (Ticket t; (t = incoming.poll()) != null; ) {
+            waiting.add(t);
+        }
+        // Re-read everyone: ratings move with HP, and characters may have died since queueing
+        List<Ticket> eligible = new ArrayList<>(waiting.size());
+        for (Ticket t : waiting) {
+            Character c = repository.findById(t.characterId).orElse(null);
+            if (c == null || !c.isAlive()) {
+                leave(t);
+                continue;
+            }
+            t.rating = ratings.rating(c);
+            eligible.add(t);
+        }
+        eligible.sort(Comparator.comparingLong((Ticket t) -> t.rating).thenComparingLong(t -> t.enqueuedNanos));
+
+        waiting.clear();
+        List<BattleRequest> requests = new ArrayList<>(Math.min(maxPairsPerTick, eligible.size() / 2));
+        long now = System.nanoTime();
+        int i = 0;
+        for (; i + 1 < eligible.size() && requests.size() < maxPairsPerTick; i += 2) {
+            Ticket weaker = eligible.get(i);
+            Ticket stronger = eligible.get(i + 1);
+            requests.add(request(weaker.characterId, stronger.characterId));
+            record(weaker, stronger, now);
+            leave(weaker);
+            leave(stronger);
+        }
+        waiting.addAll(eligible.subList(i, eligible.size()));
+        if (requests.isEmpty()) {
+            return 0;
+        }
+
+        int failed = 0;
+        for (BattleBatchItem item : battles.battle(requests).getResults()) {
+            if (!"OK".equals(item.getStatus())) {
+                failed++;
+            }
+        }
+        log.info("Matchmaking tick: {} battles, {} failed, {} still waiting", requests.size(), failed, waiting.size());
+        return requests.size();
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private void leave(Ticket t) {
+        queued.remove(t.characterId);
+        queueSize.decrementAndGet();
+    }
+
+    private void record(Ticket a, Ticket b, long now) {
+        if (waitTimer != null) {
+            waitTimer.record(now - a.enqueuedNanos, TimeUnit.NANOSECONDS);
+            waitTimer.record(now - b.enqueuedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (ratingGap != null && b.rating > 0) {
+            ratingGap.record(100.0 * (b.rating - a.rating) / b.rating);
+        }
+    }
+
+    private static BattleRequest request(UUID attackerId, UUID defenderId) {
+        BattleRequest request = new BattleRequest();
+        request.setAttackerId(attackerId);
+        request.setDefenderId(defenderId);
+        request.setIncludeLog(false);
+        return request;
+    }
+
+    private void tickQuietly() {
+        try {
+            tick();
+        } catch (RuntimeException ex) {
+            log.warn("Matchmaking tick failed", ex);
+        }
+    }
+
+    private static final class Ticket {
+        final UUID characterId;
+        final long enqueuedNanos;
+        long rating;
+
+        Ticket(UUID characterId, long enqueuedNanos) {
+            this.characterId = characterId;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
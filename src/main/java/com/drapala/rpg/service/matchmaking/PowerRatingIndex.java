@@ -0,0 +1,147 @@
+package com.drapala.rpg.service.matchmaking;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.repository.CharacterQuery;
+import com.drapala.rpg.repository.CharacterRepository;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alive characters sorted by power rating ({@code attack * current HP}), for "similar strength"
+ * lookups that walk outwards from a rating instead of sorting the roster. Writers report every
+ * new snapshot through {@link #update}; updates carry the snapshot version, so one that arrives
+ * late never overwrites a newer one. Dead characters leave the sorted set but keep a version
+ * marker. The index is rebuilt from the repository once the application is ready.
+ */
+@Component
+@Slf4j
+public class PowerRatingIndex {
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingLong((Entry e) -> e.rating).thenComparing(e -> e.id);
+
+    private final CharacterRepository repository;
+    private final StatsCalculatorResolver resolver;
+    private final NavigableSet<Entry> byRating = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+
+    public PowerRatingIndex(CharacterRepository repository, StatsCalculatorResolver resolver, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.resolver = resolver;
+        if (meterRegistry != null) {
+            meterRegistry.gauge("matchmaking.rating-index.size", byRating, NavigableSet::size);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        repository.forEach(CharacterQuery.builder().alive(true).build(), this::update);
+        log.info("Power rating index built: {} alive characters in {} ms",
+                byRating.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public long rating(Character c) {
+        return (long) resolver.derived(c).getAttack() * c.getCurrentLifePoints();
+    }
+
+    /** Records {@code c}'s current snapshot unless a newer version is already indexed. */
+    public void update(Character c) {
+        byId.compute(c.getId(), (id, current) -> {
+            if (current != null && current.version > c.getVersion()) {
+                return current;
+            }
+            if (current != null && current.alive) {
+                byRating.remove(current);
+            }
+            Entry next = new Entry(c.isAlive() ? rating(c) : -1, id, c.getVersion(), c.isAlive());
+            if (next.alive) {
+                byRating.add(next);
+            }
+            return next;
+        });
+    }
+
+    public int size() {
+        return byRating.size();
+    }
+
+    /**
+     * Up to {@code limit} indexed characters closest to {@code rating}, nearest first, skipping
+     * {@code exclude} and anything further than {@code maxGap} away.
+     */
+    public List<Entry> nearest(long rating, UUID exclude, int limit, long maxGap) {
+        Entry probe = new Entry(rating, exclude != null ? exclude : new UUID(0, 0), 0, true);
+        Iterator<Entry> below = byRating.headSet(probe, false).descendingIterator();
+        Iterator<Entry> above = byRating.tailSet(probe, false).iterator();
+        Entry low = next(below, exclude);
+        Entry high = next(above, exclude);
+        List<Entry> found = new ArrayList<>(Math.min(limit, 64));
+        while (found.size() < limit && (low != null || high != null)) {
+            boolean takeLow = high == null || (low != null && rating - low.rating <= high.rating - rating);
+            Entry nearest = takeLow ? low : high;
+            if (Math.abs(nearest.rating - rating) > maxGap) {
+                break;
+            }
+            found.add(nearest);
+            if (takeLow) {
+                low = next(below, exclude);
+            } else {
+                high = next(above, exclude);
+            }
+        }
+        return found;
+    }
+
+    /** Indexed characters with a rating in {@code [min, max]}, ascending. */
+    public NavigableSet<Entry> band(long min, long max) {
+        return byRating.subSet(new Entry(min, new UUID(Long.MIN_VALUE, Long.MIN_VALUE), 0, true), true,
+                new Entry(max, new UUID(Long.MAX_VALUE, Long.MAX_VALUE), 0, true), true);
+    }
+
+    private static Entry next(Iterator<Entry> it, UUID exclude) {
+        while (it.hasNext()) {
+            Entry e = it.next();
+            if (!e.id.equals(exclude)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    public static final class Entry {
+        final long rating;
+        final UUID id;
+        final long version;
+        final boolean alive;
+
+        Entry(long rating, UUID id, long version, boolean alive) {
+            this.rating = rating;
+            this.id = id;
+            this.version = version;
+            this.alive = alive;
+        }
+
+        public long rating() {
+            return rating;
+        }
+
+        public UUID id() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.drapala.rpg.service.odds;
+
+import lombok.Value;
+
+@Value
+public class BattleOdds {
+    double attackerWinProbability;
+    double expectedAttackerHp;
+    double expectedDefenderHp;
+}
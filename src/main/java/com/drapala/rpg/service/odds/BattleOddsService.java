@@ -0,0 +1,119 @@
+package com.drapala.rpg.service.odds;
+
+import com.drapala.rpg.dto.BattleOddsResponse;
+import com.drapala.rpg.dto.JobMatchupResponse;
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
+import com.drapala.rpg.repository.CharacterRepository;
+import com.drapala.rpg.service.battle.BattleKernel;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates how a battle between two characters would end, using their current snapshots and the
+ * same stats formulas and damage range as {@code BattleService}. Nothing is persisted.
+ */
+@Service
+public class BattleOddsService {
+    private final CharacterRepository repository;
+    private final StatsCalculatorResolver resolver;
+    private final Map<OddsMethod, OddsCalculator> calculators = new EnumMap<>(OddsMethod.class);
+    private final MatchupTable table;
+
+    public BattleOddsService(CharacterRepository repository, StatsCalculatorResolver resolver,
+                             List<OddsCalculator> calculators) {
+        this(repository, resolver, calculators, null);
+    }
+
+    @Autowired
+    public BattleOddsService(CharacterRepository repository, StatsCalculatorResolver resolver,
+                             List<OddsCalculator> calculators, MatchupTable table) {
+        this.repository = repository;
+        this.resolver = resolver;
+        this.table = table;
+        for (OddsCalculator calculator : calculators) {
+            this.calculators.put(calculator.method(), calculator);
+        }
+    }
+
+    public BattleOddsResponse odds(UUID attackerId, UUID defenderId, int trials, OddsMethod method) {
+        if (attackerId.equals(defenderId)) {
+            throw new IllegalStateException("Attacker and defender must be different");
+        }
+        OddsCalculator calculator = calculators.get(method);
+        if (calculator == null) {
+            throw new IllegalStateException("Odds method not available: " + method);
+        }
+        Character attacker = repository.findById(attackerId)
+                .orElseThrow(() -> new NoSuchElementException("Character not found: " + attackerId));
+        Character defender = repository.findById(defenderId)
+                .orElseThrow(() -> new NoSuchElementException("Character not found: " + defenderId));
+        if (!attacker.isAlive() || !defender.isAlive()) {
+            throw new IllegalStateException("Both characters must be alive to battle");
+        }
+
+        // Fresh characters of known jobs have their exact odds in the startup table
+        MatchupTable.Entry known = method == OddsMethod.EXACT && table != null ? table.lookup(attacker, defender) : null;
+        Matchup matchup = known != null ? known.getMatchup() : matchup(attacker, defender);
+        if (!matchup.canFinish()) {
+            throw new IllegalStateException("Neither character can damage the other");
+        }
+        long start = System.nanoTime();
+        BattleOdds odds = known != null ? known.getOdds() : calculator.odds(matchup, trials);
+        long elapsed = System.nanoTime() - start;
+
+        return BattleOddsResponse.builder()
+                .attackerId(attackerId.toString())
+                .defenderId(defenderId.toString())
+                .method(method)
+                .trials(method == OddsMethod.MONTE_CARLO ? trials : null)
+                .attackerWinProbability(odds.getAttackerWinProbability())
+                .defenderWinProbability(1.0 - odds.getAttackerWinProbability())
+                .expectedAttackerHp(odds.getExpectedAttackerHp())
+                .expectedDefenderHp(odds.getExpectedDefenderHp())
+                .elapsedMicros(TimeUnit.NANOSECONDS.toMicros(elapsed))
+                .build();
+    }
+
+    /** Every job-by-job matchup of fresh characters; empty without a table. */
+    public List<JobMatchupResponse> matchups() {
+        if (table == null) {
+            return List.of();
+        }
+        List<JobMatchupResponse> matchups = new ArrayList<>();
+        for (MatchupTable.Entry e : table.all()) {
+            Matchup m = e.getMatchup();
+            BattleOdds odds = e.getOdds();
+            matchups.add(JobMatchupResponse.builder()
+                    .attackerJob(e.getAttackerJob())
+                    .defenderJob(e.getDefenderJob())
+                    .attackerFirst(m.attackerFirst())
+                    .attackerMinDamage(BattleKernel.minDamage(m.getAttackerAttack()))
+                    .attackerMaxDamage(BattleKernel.maxDamage(m.getAttackerAttack()))
+                    .defenderMinDamage(BattleKernel.minDamage(m.getDefenderAttack()))
+                    .defenderMaxDamage(BattleKernel.maxDamage(m.getDefenderAttack()))
+                    .attackerWinProbability(odds != null ? odds.getAttackerWinProbability() : null)
+                    .expectedAttackerHp(odds != null ? odds.getExpectedAttackerHp() : null)
+                    .expectedDefenderHp(odds != null ? odds.getExpectedDefenderHp() : null)
+                    .build());
+        }
+        return matchups;
+    }
+
+    Matchup matchup(Character attacker, Character defender) {
+        DerivedStats a = resolver.derived(attacker);
+        DerivedStats d = resolver.derived(defender);
+        return new Matchup(
+                attacker.getCurrentLifePoints(), a.getAttack(), a.getSpeed(),
+                defender.getCurrentLifePoints(), d.getAttack(), d.getSpeed());
+    }
+}
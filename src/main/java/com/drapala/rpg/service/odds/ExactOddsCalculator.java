@@ -0,0 +1,164 @@
+package com.drapala.rpg.service.odds;
+
+import com.drapala.rpg.exception.MatchupTooLargeException;
+import com.drapala.rpg.service.battle.BattleKernel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Computes odds exactly. Per-side damage is constant for a battle and every hit is drawn uniformly
+ * from {@code [attack/2, attack]}, so the outcome only depends on the two HP values at the start of
+ * each round; a dynamic program over (first striker HP, second striker HP) covers every path.
+ * Results are memoized by the reduced battle inputs, so repeated queries for the same matchup
+ * cost a map lookup.
+ *
+ * <p>A solve holds six doubles per state, about 12 MB at {@value #MAX_STATES} states; larger
+ * matchups are rejected, and at most {@code maxConcurrent} solves run at once so parallel
+ * requests cannot multiply that.
+ */
+@Component
+public class ExactOddsCalculator implements OddsCalculator {
+    static final int MAX_STATES = 250_000;
+    private static final int MAX_CACHED = 65_536;
+
+    private final Map<Key, BattleOdds> cache = new ConcurrentHashMap<>();
+    private final Semaphore solving;
+
+    public ExactOddsCalculator() {
+        this(0);
+    }
+
+    /** {@code maxConcurrent} of 0 allows one solve per available processor. */
+    @Autowired
+    public ExactOddsCalculator(@Value("${rpg.odds.exact.max-concurrent:0}") int maxConcurrent) {
+        this.solving = new Semaphore(maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public OddsMethod method() {
+        return OddsMethod.EXACT;
+    }
+
+    @Override
+    public BattleOdds odds(Matchup m, int trials) {
+        boolean attackerFirst = m.attackerFirst();
+        Key key = attackerFirst
+                ? new Key(m.getAttackerHp(), m.getAttackerAttack(), m.getDefenderHp(), m.getDefenderAttack())
+                : new Key(m.getDefenderHp(), m.getDefenderAttack(), m.getAttackerHp(), m.getAttackerAttack());
+        BattleOdds first = cache.get(key);
+        if (first == null) {
+            first = solveBounded(key);
+            if (cache.size() >= MAX_CACHED) {
+                cache.clear();
+            }
+            cache.put(key, first);
+        }
+        // Cached odds are seen from the first striker; flip them when the defender strikes first
+        return attackerFirst ? first : new BattleOdds(1.0 - first.getAttackerWinProbability(),
+                first.getExpectedDefenderHp(), first.getExpectedAttackerHp());
+    }
+
+    private BattleOdds solveBounded(Key key) {
+        requireSolvable(key.firstHp, key.secondHp);
+        try {
+            solving.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to compute exact odds", e);
+        }
+        try {
+            return solve(key.firstHp, key.firstAttack, key.secondHp, key.secondAttack);
+        } finally {
+            solving.release();
+        }
+    }
+
+    private static void requireSolvable(int firstHp, int secondHp) {
+        if ((long) (firstHp + 1) * (secondHp + 1) > MAX_STATES) {
+            throw new MatchupTooLargeException("Matchup too large for exact odds: " + firstHp + " x " + secondHp
+                    + " HP exceeds " + MAX_STATES + " states, use MONTE_CARLO");
+        }
+    }
+
+    /**
+     * Returns the odds of the side striking first, with its expected HP as the "attacker" values.
+     * A round is the first striker's hit followed, if it survives, by the reply; a round where both
+     * hits deal 0 returns to the same state, which is folded in by normalizing with
+     * {@code 1 - p(0) * p(0)}.
+     */
+    static BattleOdds solve(int firstHp, int firstAttack, int secondHp, int secondAttack) {
+        requireSolvable(firstHp, secondHp);
+        int fMin = BattleKernel.minDamage(firstAttack);
+        int fMax = BattleKernel.maxDamage(firstAttack);
+        int sMin = BattleKernel.minDamage(secondAttack);
+        int sMax = BattleKernel.maxDamage(secondAttack);
+        double pF = 1.0 / (fMax - fMin + 1);
+        double pS = 1.0 / (sMax - sMin + 1);
+        double pF0 = fMin == 0 ? pF : 0;
+        double pS0 = sMin == 0 ? pS : 0;
+        double norm = 1 - pF0 * pS0;
+
+        int w = secondHp + 1;
+        int size = (firstHp + 1) * w;
+        // Round start, first striker to hit: its win probability and both expected final HPs
+        double[] win = new double[size];
+        double[] hpF = new double[size];
+        double[] hpS = new double[size];
+        // First striker has hit and the second is still up, about to reply
+        double[] replyWin = new double[size];
+        double[] replyF = new double[size];
+        double[] replyS = new double[size];
+
+        for (int a = 1; a <= firstHp; a++) {
+            for (int b = 1; b <= secondHp; b++) {
+                // Replies that deal damage lead to rounds with less first-striker HP, already solved
+                double rw = 0;
+                double rf = 0;
+                double rs = 0;
+                for (int d = Math.max(sMin, 1); d <= sMax; d++) {
+                    if (a - d <= 0) {
+                        rs += pS * b;
+                    } else {
+                        int i = (a - d) * w + b;
+                        rw += pS * win[i];
+                        rf += pS * hpF[i];
+                        rs += pS * hpS[i];
+                    }
+                }
+
+                double pw = pF0 * rw;
+                double pf = pF0 * rf;
+                double ps = pF0 * rs;
+                for (int d = Math.max(fMin, 1); d <= fMax; d++) {
+                    if (b - d <= 0) {
+                        pw += pF;
+                        pf += pF * a;
+                    } else {
+                        int i = a * w + b - d;
+                        pw += pF * replyWin[i];
+                        pf += pF * replyF[i];
+                        ps += pF * replyS[i];
+                    }
+                }
+
+                int i = a * w + b;
+                win[i] = pw / norm;
+                hpF[i] = pf / norm;
+                hpS[i] = ps / norm;
+                replyWin[i] = pS0 * win[i] + rw;
+                replyF[i] = pS0 * hpF[i] + rf;
+                replyS[i] = pS0 * hpS[i] + rs;
+            }
+        }
+        int start = firstHp * w + secondHp;
+        return new BattleOdds(win[start], hpF[start], hpS[start]);
+    }
+
+    private record Key(int firstHp, int firstAttack, int secondHp, int secondAttack) {
+    }
+}
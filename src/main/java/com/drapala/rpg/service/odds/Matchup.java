@@ -0,0 +1,23 @@
+package com.drapala.rpg.service.odds;
+
+import com.drapala.rpg.service.battle.BattleKernel;
+import lombok.Value;
+
+/** Battle inputs of both sides, already reduced to the ints the battle kernel works on. */
+@Value
+public class Matchup {
+    int attackerHp;
+    int attackerAttack;
+    int attackerSpeed;
+    int defenderHp;
+    int defenderAttack;
+    int defenderSpeed;
+
+    public boolean attackerFirst() {
+        return attackerSpeed >= defenderSpeed;
+    }
+
+    public boolean canFinish() {
+        return BattleKernel.maxDamage(attackerAttack) > 0 || BattleKernel.maxDamage(defenderAttack) > 0;
+    }
+}
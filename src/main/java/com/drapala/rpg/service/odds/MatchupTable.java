@@ -0,0 +1,91 @@
+package com.drapala.rpg.service.odds;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import com.drapala.rpg.service.stats.StatsFactory;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Job-by-job matchups of fresh characters, computed once at startup. Every new character of a job
+ * starts with the same base stats, so initiative, both damage ranges and the exact odds of such a
+ * pairing are constants; {@link #lookup} returns them in O(1) while both characters still have
+ * their base stats and full HP, and {@code null} otherwise so callers compute on the fly.
+ */
+@Component
+public class MatchupTable {
+    private final List<Job> jobs;
+    /** Indexed by {@link Job#ordinal()}; {@code null} for jobs without a definition. */
+    private final Stats[] baseStats;
+    private final Entry[][] entries;
+
+    public MatchupTable(StatsFactory statsFactory, StatsCalculatorResolver resolver, ExactOddsCalculator exact) {
+        this.jobs = statsFactory.jobs();
+        int size = jobs.stream().mapToInt(Job::ordinal).max().orElse(-1) + 1;
+        this.baseStats = new Stats[size];
+        this.entries = new Entry[size][size];
+        DerivedStats[] derived = new DerivedStats[size];
+        for (Job job : jobs) {
+            Stats stats = statsFactory.createForJob(job);
+            baseStats[job.ordinal()] = stats;
+            derived[job.ordinal()] = new DerivedStats(
+                    resolver.forJob(job).attack(stats), resolver.forJob(job).speed(stats));
+        }
+        for (Job a : jobs) {
+            for (Job d : jobs) {
+                DerivedStats as = derived[a.ordinal()];
+                DerivedStats ds = derived[d.ordinal()];
+                Matchup m = new Matchup(baseStats[a.ordinal()].getLifePoints(), as.getAttack(), as.getSpeed(),
+                        baseStats[d.ordinal()].getLifePoints(), ds.getAttack(), ds.getSpeed());
+                entries[a.ordinal()][d.ordinal()] = new Entry(a, d, m, m.canFinish() ? exact.odds(m, 0) : null);
+            }
+        }
+    }
+
+    /** The matchup of two jobs, or {@code null} if either has no definition. */
+    public Entry get(Job attacker, Job defender) {
+        return defined(attacker) && defined(defender) ? entries[attacker.ordinal()][defender.ordinal()] : null;
+    }
+
+    /** The precomputed matchup when both characters are still fresh, otherwise {@code null}. */
+    public Entry lookup(Character attacker, Character defender) {
+        return fresh(attacker) && fresh(defender) ? get(attacker.getJob(), defender.getJob()) : null;
+    }
+
+    public List<Entry> all() {
+        List<Entry> all = new ArrayList<>(jobs.size() * jobs.size());
+        for (Job a : jobs) {
+            for (Job d : jobs) {
+                all.add(entries[a.ordinal()][d.ordinal()]);
+            }
+        }
+        return all;
+    }
+
+    private boolean defined(Job job) {
+        return job.ordinal() < baseStats.length && baseStats[job.ordinal()] != null;
+    }
+
+    private boolean fresh(Character c) {
+        if (!defined(c.getJob())) {
+            return false;
+        }
+        Stats base = baseStats[c.getJob().ordinal()];
+        return c.getCurrentLifePoints() == base.getLifePoints() && base.equals(c.getStats());
+    }
+
+    @Value
+    public static class Entry {
+        Job attackerJob;
+        Job defenderJob;
+        Matchup matchup;
+        /** Exact odds at full HP; {@code null} when neither side can deal damage. */
+        BattleOdds odds;
+    }
+}
@@ -0,0 +1,79 @@
+package com.drapala.rpg.service.odds;
+
+import com.drapala.rpg.service.battle.BattleKernel;
+import com.drapala.rpg.service.battle.CombatLog;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Estimates odds by simulating battles. Trials are split into chunks across the fork-join pool and
+ * every chunk draws from its own {@link SplittableRandom} stream, so the inner loop touches nothing
+ * shared and allocates nothing.
+ */
+@Component
+public class MonteCarloOddsCalculator implements OddsCalculator {
+    private static final int MIN_TRIALS_PER_CHUNK = 10_000;
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloOddsCalculator(@Qualifier("battleForkJoinPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public OddsMethod method() {
+        return OddsMethod.MONTE_CARLO;
+    }
+
+    @Override
+    public BattleOdds odds(Matchup matchup, int trials) {
+        int chunks = Math.max(1, Math.min(trials / MIN_TRIALS_PER_CHUNK, pool.getParallelism() * 4));
+        SplittableRandom root = new SplittableRandom();
+        List<ForkJoinTask<long[]>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int share = trials / chunks + (c < trials % chunks ? 1 : 0);
+            SplittableRandom random = root.split();
+            tasks.add(pool.submit(() -> simulate(matchup, share, random)));
+        }
+
+        long attackerWins = 0;
+        long attackerHp = 0;
+        long defenderHp = 0;
+        for (ForkJoinTask<long[]> task : tasks) {
+            long[] totals = task.join();
+            attackerWins += totals[0];
+            attackerHp += totals[1];
+            defenderHp += totals[2];
+        }
+        return new BattleOdds((double) attackerWins / trials, (double) attackerHp / trials, (double) defenderHp / trials);
+    }
+
+    static long[] simulate(Matchup m, int trials, SplittableRandom random) {
+        boolean attackerFirst = m.attackerFirst();
+        int firstSide = attackerFirst ? CombatLog.ATTACKER : CombatLog.DEFENDER;
+        int firstHp = attackerFirst ? m.getAttackerHp() : m.getDefenderHp();
+        int firstAttack = attackerFirst ? m.getAttackerAttack() : m.getDefenderAttack();
+        int secondHp = attackerFirst ? m.getDefenderHp() : m.getAttackerHp();
+        int secondAttack = attackerFirst ? m.getDefenderAttack() : m.getAttackerAttack();
+
+        long attackerWins = 0;
+        long attackerHp = 0;
+        long defenderHp = 0;
+        for (int i = 0; i < trials; i++) {
+            int outcome = BattleKernel.fight(firstSide, firstHp, firstAttack, secondHp, secondAttack, random);
+            if (BattleKernel.winner(outcome) == CombatLog.ATTACKER) {
+                attackerWins++;
+                attackerHp += BattleKernel.winnerHp(outcome);
+            } else {
+                defenderHp += BattleKernel.winnerHp(outcome);
+            }
+        }
+        return new long[]{attackerWins, attackerHp, defenderHp};
+    }
+}
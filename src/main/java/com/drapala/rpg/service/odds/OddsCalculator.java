@@ -0,0 +1,10 @@
+package com.drapala.rpg.service.odds;
+
+public interface OddsCalculator {
+    OddsMethod method();
+
+    /**
+     * @param trials number of simulated battles; calculators that don't sample may ignore it
+     */
+    BattleOdds odds(Matchup matchup, int trials);
+}
@@ -0,0 +1,6 @@
+package com.drapala.rpg.service.odds;
+
+public enum OddsMethod {
+    MONTE_CARLO,
+    EXACT
+}
@@ -0,0 +1,30 @@
+package com.drapala.rpg.service.stats;
+
+import com.drapala.rpg.model.Stats;
+
+/** Calculator compiled from a job definition's attack and speed formulas. */
+public final class FormulaStatsCalculator implements StatsCalculator {
+    private final LinearStatFormula attack;
+    private final LinearStatFormula speed;
+    private final boolean fixedPoint;
+
+    public FormulaStatsCalculator(LinearStatFormula attack, LinearStatFormula speed) {
+        this(attack, speed, StatsArithmetic.FIXED_POINT);
+    }
+
+    public FormulaStatsCalculator(LinearStatFormula attack, LinearStatFormula speed, StatsArithmetic arithmetic) {
+        this.attack = attack;
+        this.speed = speed;
+        this.fixedPoint = arithmetic == StatsArithmetic.FIXED_POINT;
+    }
+
+    @Override
+    public int attack(Stats stats) {
+        return fixedPoint ? attack.apply(stats) : attack.applyDouble(stats);
+    }
+
+    @Override
+    public int speed(Stats stats) {
+        return fixedPoint ? speed.apply(stats) : speed.applyDouble(stats);
+    }
+}
@@ -0,0 +1,13 @@
+package com.drapala.rpg.service.stats;
+
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import lombok.Value;
+
+/** A job as loaded from the job definitions file: starting stats and its compiled calculator. */
+@Value
+public class JobDefinition {
+    Job job;
+    Stats baseStats;
+    StatsCalculator calculator;
+}
@@ -0,0 +1,160 @@
+package com.drapala.rpg.service.stats;
+
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Job definitions loaded at startup from a JSON file ({@code rpg.jobs.location}, the bundled
+ * {@code jobs.json} by default). Each entry names a job, its base stats and its attack and speed
+ * formulas as {@code stat -> coefficient} maps; formulas are compiled once here, and definitions
+ * are kept in an array indexed by {@link Job#ordinal()}. Adding a job is an entry in the file;
+ * every built-in job must have one, so a file that leaves one out fails at startup.
+ * Jobs beyond the built-in ones exist only in the registry that loaded them: look them up here,
+ * not through {@link Job#valueOf}.
+ * {@code rpg.stats.arithmetic} picks how the compiled formulas run; both modes give the same numbers.
+ */
+@Component
+@Slf4j
+public class JobRegistry {
+    private static final int MAX_NAME_LENGTH = 32;
+
+    private final Job.Catalog catalog = new Job.Catalog();
+    private final JobDefinition[] byOrdinal;
+    private final List<JobDefinition> definitions;
+
+    public JobRegistry(Resource location) {
+        this(location, StatsArithmetic.FIXED_POINT);
+    }
+
+    @Autowired
+    public JobRegistry(@Value("${rpg.jobs.location:classpath:jobs.json}") Resource location,
+                       @Value("${rpg.stats.arithmetic:FIXED_POINT}") StatsArithmetic arithmetic) {
+        List<JobDefinition> loaded = load(location, arithmetic);
+        JobDefinition[] index = new JobDefinition[catalog.count()];
+        for (JobDefinition definition : loaded) {
+            if (index[definition.getJob().ordinal()] != null) {
+                throw new IllegalArgumentException("Job defined twice: " + definition.getJob());
+            }
+            index[definition.getJob().ordinal()] = definition;
+        }
+        // Data-defined jobs are registered by their definition, so only a built-in can be missing
+        for (int ordinal = 0; ordinal < index.length; ordinal++) {
+            if (index[ordinal] == null) {
+                throw new IllegalArgumentException("No definition for built-in job " + catalog.ofOrdinal(ordinal));
+            }
+        }
+        this.byOrdinal = index;
+        this.definitions = List.copyOf(loaded);
+        log.info("Loaded {} job definitions from {} ({} arithmetic)", definitions.size(), location.getDescription(), arithmetic);
+    }
+
+    /** The bundled definitions, for code that runs without a Spring context. */
+    public static JobRegistry defaults() {
+        return new JobRegistry(new ClassPathResource("jobs.json"));
+    }
+
+    /** The definition of {@code job}; {@link IllegalArgumentException} if it belongs to another registry. */
+    public JobDefinition definition(Job job) {
+        JobDefinition definition = job.ordinal() < byOrdinal.length ? byOrdinal[job.ordinal()] : null;
+        if (definition == null) {
+            throw new IllegalArgumentException("No definition for job " + job);
+        }
+        return definition;
+    }
+
+    public List<JobDefinition> definitions() {
+        return definitions;
+    }
+
+    /** The job called {@code name}; {@link IllegalArgumentException} if this registry does not know it. */
+    public Job job(String name) {
+        return catalog.valueOf(name);
+    }
+
+    public Job job(int ordinal) {
+        return catalog.ofOrdinal(ordinal);
+    }
+
+    /** Number of jobs, defined or built in; ordinals run from 0 to {@code count() - 1}. */
+    public int count() {
+        return catalog.count();
+    }
+
+    private List<JobDefinition> load(Resource location, StatsArithmetic arithmetic) {
+        JsonNode root;
+        try (InputStream in = location.getInputStream()) {
+            root = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS).readTree(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read job definitions from " + location.getDescription(), ex);
+        }
+        if (root == null || !root.isArray() || root.isEmpty()) {
+            throw new IllegalArgumentException("Job definitions must be a non-empty JSON array");
+        }
+        List<JobDefinition> loaded = new ArrayList<>(root.size());
+        for (JsonNode node : root) {
+            String name = node.path("name").asText("");
+            if (name.isBlank() || name.length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("Job name must be 1-" + MAX_NAME_LENGTH + " characters: '" + name + "'");
+            }
+            try {
+                JsonNode base = node.path("baseStats");
+                Stats stats = Stats.builder()
+                        .lifePoints(integer(base, "lifePoints"))
+                        .strength(integer(base, "strength"))
+                        .dexterity(integer(base, "dexterity"))
+                        .intelligence(integer(base, "intelligence"))
+                        .build()
+                        .validate();
+                StatsCalculator calculator = new FormulaStatsCalculator(
+                        LinearStatFormula.compile(terms(node.path("attack"))),
+                        LinearStatFormula.compile(terms(node.path("speed"))),
+                        arithmetic);
+                loaded.add(new JobDefinition(catalog.register(name), stats, calculator));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid definition of job " + name + ": " + ex.getMessage(), ex);
+            }
+        }
+        return loaded;
+    }
+
+    private static int integer(JsonNode parent, String field) {
+        JsonNode value = parent.get(field);
+        if (value == null || !value.canConvertToInt() || !value.isIntegralNumber()) {
+            throw new IllegalArgumentException(field + " must be an integer");
+        }
+        return value.intValue();
+    }
+
+    /** Terms in file order, which is the order the formula is evaluated in. */
+    private static Map<String, BigDecimal> terms(JsonNode formula) {
+        if (!formula.isObject()) {
+            throw new IllegalArgumentException("attack and speed must be objects of stat -> coefficient");
+        }
+        Map<String, BigDecimal> terms = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> term : formula.properties()) {
+            if (!term.getValue().isNumber()) {
+                throw new IllegalArgumentException("Coefficient of " + term.getKey() + " must be a number");
+            }
+            terms.put(term.getKey(), term.getValue().decimalValue());
+        }
+        return terms;
+    }
+}
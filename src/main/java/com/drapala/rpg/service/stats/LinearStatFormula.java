@@ -0,0 +1,161 @@
+package com.drapala.rpg.service.stats;
+
+import com.drapala.rpg.model.Stats;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * {@code floor(c1 * a1 + c2 * a2 + ...)} over a character's strength, dexterity and intelligence,
+ * compiled from decimal coefficients into scaled integers: one call is three multiplications and a
+ * multiply-high by the scale's reciprocal. The terms keep their configured order because the formulas were historically evaluated
+ * in doubles, left to right, and the compiled form must give the same results.
+ *
+ * <p>When the exact sum is not a whole number, its fractional part is at least {@code 1 / scale},
+ * far more than the rounding error of the double evaluation, so both floors agree. When it is a
+ * whole number the double evaluation may land just below it (for example
+ * {@code 0.6 * 3 + 0.2 * 1 = 1.9999999999999998}), so that case replays the double sum from
+ * products tabulated at compile time, unless every coefficient is exact in binary (like
+ * {@code 0.25} or {@code 1}), where the double sum is exact too and the integer result stands.
+ */
+public final class LinearStatFormula {
+    private static final int STRENGTH = 0;
+    private static final int DEXTERITY = 1;
+    private static final int INTELLIGENCE = 2;
+    /** Up to four decimal places, which keeps {@code 1 / scale} well above double rounding error for int stats. */
+    private static final int MAX_DECIMALS = 4;
+    private static final BigDecimal MAX_COEFFICIENT = BigDecimal.valueOf(1000);
+    /** Below {@code 2^64 / scale^2} the reciprocal gives exact quotients; larger sums are divided. */
+    private static final long RECIPROCAL_LIMIT = 1L << 37;
+    /** Attribute values 0 to this are tabulated for the replay; larger ones are multiplied as they come. */
+    private static final int TABULATED_MAX = 255;
+
+    private final long strength;
+    private final long dexterity;
+    private final long intelligence;
+    private final long scale;
+    /** {@code ceil(2^64 / scale)}, so the high half of {@code sum * reciprocal} is {@code sum / scale}; 0 when scale is 1. */
+    private final long reciprocal;
+    private final int[] order;
+    private final double[] coefficients;
+    /** {@code coefficients[i] * x} for x up to {@link #TABULATED_MAX}; null when the double sum is always exact. */
+    private final double[][] products;
+
+    private LinearStatFormula(long[] scaled, long scale, int[] order, double[] coefficients, boolean exactInDoubles) {
+        this.strength = scaled[STRENGTH];
+        this.dexterity = scaled[DEXTERITY];
+        this.intelligence = scaled[INTELLIGENCE];
+        this.scale = scale;
+        this.reciprocal = scale == 1 ? 0 : Long.divideUnsigned(-1L, scale) + 1;
+        this.order = order;
+        this.coefficients = coefficients;
+        this.products = exactInDoubles ? null : tabulate(coefficients);
+    }
+
+    /**
+     * Compiles {@code attribute -> coefficient} terms, in iteration order. Attributes are
+     * {@code strength}, {@code dexterity} and {@code intelligence}; coefficients are between 0 and
+     * 1000 with at most four decimal places.
+     */
+    public static LinearStatFormula compile(Map<String, BigDecimal> terms) {
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("A stat formula needs at least one term");
+        }
+        int decimals = 0;
+        for (Map.Entry<String, BigDecimal> term : terms.entrySet()) {
+            BigDecimal c = term.getValue();
+            if (c == null || c.signum() < 0 || c.compareTo(MAX_COEFFICIENT) > 0) {
+                throw new IllegalArgumentException("Coefficient of " + term.getKey() + " must be between 0 and 1000");
+            }
+            decimals = Math.max(decimals, Math.max(0, c.stripTrailingZeros().scale()));
+        }
+        if (decimals > MAX_DECIMALS) {
+            throw new IllegalArgumentException("Coefficients may have at most " + MAX_DECIMALS + " decimal places");
+        }
+        long scale = BigDecimal.TEN.pow(decimals).longValueExact();
+        long[] scaled = new long[3];
+        int[] order = new int[terms.size()];
+        double[] coefficients = new double[terms.size()];
+        boolean exactInDoubles = true;
+        int i = 0;
+        for (Map.Entry<String, BigDecimal> term : terms.entrySet()) {
+            int attribute = attribute(term.getKey());
+            scaled[attribute] = term.getValue().movePointRight(decimals).longValueExact();
+            order[i] = attribute;
+            coefficients[i] = term.getValue().doubleValue();
+            exactInDoubles &= new BigDecimal(coefficients[i]).compareTo(term.getValue()) == 0;
+            i++;
+        }
+        return new LinearStatFormula(scaled, scale, order, coefficients, exactInDoubles);
+    }
+
+    /** The formula in scaled integers; the tabulated double sum is only read when the exact sum is a whole number. */
+    public int apply(Stats s) {
+        long sum = strength * s.getStrength() + dexterity * s.getDexterity() + intelligence * s.getIntelligence();
+        long whole;
+        if (reciprocal == 0) {
+            whole = sum;
+        } else if (sum < RECIPROCAL_LIMIT) {
+            whole = Math.multiplyHigh(sum, reciprocal);
+        } else {
+            whole = sum / scale;
+        }
+        if (whole >= Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        if (whole * scale != sum || products == null) {
+            return (int) whole;
+        }
+        return (int) Math.floor(replay(s));
+    }
+
+    /** The formula as originally written: double products summed left to right, then floored. */
+    public int applyDouble(Stats s) {
+        return (int) Math.floor(evaluate(s));
+    }
+
+    private double evaluate(Stats s) {
+        double sum = 0.0;
+        for (int i = 0; i < order.length; i++) {
+            sum += coefficients[i] * value(s, order[i]);
+        }
+        return sum;
+    }
+
+    /** {@link #evaluate} with the products looked up; attributes outside the tables are multiplied. */
+    private double replay(Stats s) {
+        double sum = 0.0;
+        for (int i = 0; i < order.length; i++) {
+            int x = value(s, order[i]);
+            sum += x >= 0 && x <= TABULATED_MAX ? products[i][x] : coefficients[i] * x;
+        }
+        return sum;
+    }
+
+    private static double[][] tabulate(double[] coefficients) {
+        double[][] products = new double[coefficients.length][TABULATED_MAX + 1];
+        for (int i = 0; i < coefficients.length; i++) {
+            for (int x = 0; x <= TABULATED_MAX; x++) {
+                products[i][x] = coefficients[i] * x;
+            }
+        }
+        return products;
+    }
+
+    private static int value(Stats s, int attribute) {
+        return switch (attribute) {
+            case STRENGTH -> s.getStrength();
+            case DEXTERITY -> s.getDexterity();
+            default -> s.getIntelligence();
+        };
+    }
+
+    private static int attribute(String name) {
+        return switch (name) {
+            case "strength" -> STRENGTH;
+            case "dexterity" -> DEXTERITY;
+            case "intelligence" -> INTELLIGENCE;
+            default -> throw new IllegalArgumentException("Unknown stat in formula: " + name);
+        };
+    }
+}
@@ -1,9 +1,8 @@
 package com.drapala.rpg.service.stats;
 
 import com.drapala.rpg.model.Stats;
-import org.springframework.stereotype.Component;
 
-@Component
+/** The original mage formulas in doubles; {@code jobs.json} carries the same coefficients. */
 public class MageStatsCalculator implements StatsCalculator {
     @Override
     public int attack(Stats s) {
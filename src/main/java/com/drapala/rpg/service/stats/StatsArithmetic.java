@@ -0,0 +1,9 @@
+package com.drapala.rpg.service.stats;
+
+/** How compiled job formulas are evaluated. Both give the same results; see {@link LinearStatFormula}. */
+public enum StatsArithmetic {
+    /** Scaled integer coefficients. */
+    FIXED_POINT,
+    /** Double products summed and floored, as the formulas were originally written. */
+    DOUBLE
+}
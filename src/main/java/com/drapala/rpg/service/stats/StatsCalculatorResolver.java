@@ -1,25 +1,34 @@
 package com.drapala.rpg.service.stats;
 
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
 import com.drapala.rpg.model.Job;
 import org.springframework.stereotype.Component;
 
-import java.util.EnumMap;
-import java.util.Map;
-
 @Component
 public class StatsCalculatorResolver {
-    private final Map<Job, StatsCalculator> calculators = new EnumMap<>(Job.class);
+    /** Indexed by {@link Job#ordinal()}. */
+    private final StatsCalculator[] calculators;
 
-    public StatsCalculatorResolver(WarriorStatsCalculator warrior,
-                                   ThiefStatsCalculator thief,
-                                   MageStatsCalculator mage) {
-        calculators.put(Job.WARRIOR, warrior);
-        calculators.put(Job.THIEF, thief);
-        calculators.put(Job.MAGE, mage);
+    public StatsCalculatorResolver(JobRegistry jobs) {
+        calculators = new StatsCalculator[jobs.count()];
+        for (JobDefinition definition : jobs.definitions()) {
+            calculators[definition.getJob().ordinal()] = definition.getCalculator();
+        }
     }
 
     public StatsCalculator forJob(Job job) {
-        return calculators.get(job);
+        return job.ordinal() < calculators.length ? calculators[job.ordinal()] : null;
+    }
+
+    /** Attack and speed of {@code c}, computed once per character and then carried by its snapshots. */
+    public DerivedStats derived(Character c) {
+        return c.derived(this::compute);
+    }
+
+    private DerivedStats compute(Character c) {
+        StatsCalculator calc = forJob(c.getJob());
+        return new DerivedStats(calc.attack(c.getStats()), calc.speed(c.getStats()));
     }
 }
 
@@ -2,16 +2,30 @@ package com.drapala.rpg.service.stats;
 
 import com.drapala.rpg.model.Job;
 import com.drapala.rpg.model.Stats;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class StatsFactory {
+    private final JobRegistry jobs;
+
+    public StatsFactory() {
+        this(JobRegistry.defaults());
+    }
+
+    @Autowired
+    public StatsFactory(JobRegistry jobs) {
+        this.jobs = jobs;
+    }
+
     public Stats createForJob(Job job) {
-        return switch (job) {
-            case WARRIOR -> Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build().validate();
-            case THIEF -> Stats.builder().lifePoints(15).strength(4).dexterity(10).intelligence(4).build().validate();
-            case MAGE -> Stats.builder().lifePoints(12).strength(5).dexterity(6).intelligence(10).build().validate();
-        };
+        return jobs.definition(job).getBaseStats();
     }
-}
 
+    /** Jobs that have a definition, in definition order. */
+    public List<Job> jobs() {
+        return jobs.definitions().stream().map(JobDefinition::getJob).toList();
+    }
+}
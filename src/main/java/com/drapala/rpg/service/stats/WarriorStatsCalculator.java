@@ -1,9 +1,8 @@
 package com.drapala.rpg.service.stats;
 
 import com.drapala.rpg.model.Stats;
-import org.springframework.stereotype.Component;
 
-@Component
+/** The original warrior formulas in doubles; {@code jobs.json} carries the same coefficients. */
 public class WarriorStatsCalculator implements StatsCalculator {
     @Override
     public int attack(Stats s) {
@@ -0,0 +1,287 @@
+package com.drapala.rpg.service.tournament;
+
+import com.drapala.rpg.dto.TournamentResponse;
+import com.drapala.rpg.dto.TournamentStanding;
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
+import com.drapala.rpg.model.TournamentFormat;
+import com.drapala.rpg.repository.CharacterRepository;
+import com.drapala.rpg.service.BattleService;
+import com.drapala.rpg.service.battle.BattleKernel;
+import com.drapala.rpg.service.battle.CombatLog;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Runs round-robin and single-elimination tournaments server-side. Matches are exhibition bouts:
+ * they are simulated from the entrants' current snapshots with the regular battle kernel and damage
+ * model, but never persisted, so an entrant can fight every round. The matches of a round are
+ * independent and run in parallel on the battle fork-join pool.
+ */
+@Service
+@Slf4j
+public class TournamentService {
+    private static final int MATCHES_PER_TASK = 16;
+
+    private final CharacterRepository repository;
+    private final StatsCalculatorResolver resolver;
+    private final ForkJoinPool pool;
+    private final MeterRegistry meterRegistry;
+    private final IntUnaryOperator damage;
+
+    public TournamentService(CharacterRepository repository, StatsCalculatorResolver resolver,
+                             ForkJoinPool pool, MeterRegistry meterRegistry) {
+        this(repository, resolver, pool, meterRegistry, BattleKernel::rollDamage);
+    }
+
+    /** Matches roll damage exactly as {@code battles} does, so an overridden damage model applies here too. */
+    @Autowired
+    public TournamentService(CharacterRepository repository, StatsCalculatorResolver resolver,
+                             @Qualifier("battleForkJoinPool") ForkJoinPool pool, MeterRegistry meterRegistry,
+                             BattleService battles) {
+        this(repository, resolver, pool, meterRegistry, battles.damageRoll());
+    }
+
+    private TournamentService(CharacterRepository repository, StatsCalculatorResolver resolver, ForkJoinPool pool,
+                              MeterRegistry meterRegistry, IntUnaryOperator damage) {
+        this.repository = repository;
+        this.resolver = resolver;
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+        this.damage = damage;
+    }
+
+    public TournamentResponse run(List<UUID> characterIds, TournamentFormat format) {
+        if (new HashSet<>(characterIds).size() != characterIds.size()) {
+            throw new IllegalStateException("Tournament entrants must be distinct");
+        }
+        List<Character> characters = new ArrayList<>(characterIds.size());
+        for (UUID id : characterIds) {
+            Character c = repository.findById(id)
+                    .orElseThrow(() -> new NoSuchElementException("Character not found: " + id));
+            if (!c.isAlive()) {
+                throw new IllegalStateException("Tournament entrants must be alive");
+            }
+            characters.add(c);
+        }
+
+        long start = System.nanoTime();
+        Entrants entrants = new Entrants(characters, resolver, damage);
+        Bracket bracket = format == TournamentFormat.ROUND_ROBIN ? roundRobin(entrants) : singleElimination(entrants);
+        long elapsed = System.nanoTime() - start;
+
+        List<TournamentStanding> standings = standings(characters, bracket);
+        String winnerId = bracket.champion >= 0
+                ? characters.get(bracket.champion).getId().toString()
+                : standings.get(0).getCharacterId();
+        log.info("Tournament finished: format={} entrants={} matches={} elapsedMs={}",
+                format, characters.size(), bracket.matches, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        if (meterRegistry != null) {
+            meterRegistry.timer("tournament.duration", "format", format.name()).record(elapsed, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("tournament.matches", "format", format.name()).increment(bracket.matches);
+        }
+
+        return TournamentResponse.builder()
+                .format(format)
+                .winnerId(winnerId)
+                .standings(standings)
+                .rounds(bracket.rounds)
+                .matches(bracket.matches)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .build();
+    }
+
+    private Bracket roundRobin(Entrants entrants) {
+        int n = entrants.size();
+        Bracket bracket = new Bracket(n);
+        // Circle method: slot n is a bye when the entrant count is odd
+        int slots = n % 2 == 0 ? n : n + 1;
+        int[] order = new int[slots];
+        for (int i = 0; i < slots; i++) {
+            order[i] = i;
+        }
+        int[] homes = new int[slots / 2];
+        int[] aways = new int[slots / 2];
+        for (int round = 0; round < slots - 1; round++) {
+            int matches = 0;
+            for (int i = 0; i < slots / 2; i++) {
+                int home = order[i];
+                int away = order[slots - 1 - i];
+                if (home < n && away < n) {
+                    homes[matches] = home;
+                    aways[matches] = away;
+                    matches++;
+                }
+            }
+            play(entrants, bracket, homes, aways, matches);
+            // Keep slot 0 fixed and rotate the rest by one
+            int last = order[slots - 1];
+            System.arraycopy(order, 1, order, 2, slots - 2);
+            order[1] = last;
+        }
+        return bracket;
+    }
+
+    private Bracket singleElimination(Entrants entrants) {
+        Bracket bracket = new Bracket(entrants.size());
+        int[] alive = new int[entrants.size()];
+        for (int i = 0; i < alive.length; i++) {
+            alive[i] = i;
+        }
+        while (alive.length > 1) {
+            // With an odd field the best remaining seed gets a bye; the rest pair top against bottom
+            int byes = alive.length % 2;
+            int matches = (alive.length - byes) / 2;
+            int[] homes = new int[matches];
+            int[] aways = new int[matches];
+            for (int i = 0; i < matches; i++) {
+                homes[i] = alive[byes + i];
+                aways[i] = alive[alive.length - 1 - i];
+            }
+            int[] winners = play(entrants, bracket, homes, aways, matches);
+            int[] next = new int[byes + matches];
+            if (byes == 1) {
+                next[0] = alive[0];
+            }
+            System.arraycopy(winners, 0, next, byes, matches);
+            alive = next;
+        }
+        bracket.champion = alive[0];
+        return bracket;
+    }
+
+    private int[] play(Entrants entrants, Bracket bracket, int[] homes, int[] aways, int matches) {
+        int[] winners = new int[matches];
+        pool.invoke(new RoundTask(entrants, homes, aways, winners, 0, matches));
+        for (int i = 0; i < matches; i++) {
+            int loser = winners[i] == homes[i] ? aways[i] : homes[i];
+            bracket.wins[winners[i]]++;
+            bracket.losses[loser]++;
+        }
+        bracket.rounds++;
+        bracket.matches += matches;
+        return winners;
+    }
+
+    private static List<TournamentStanding> standings(List<Character> characters, Bracket bracket) {
+        Integer[] order = new Integer[characters.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // Fewest losses first: in elimination only the champion is unbeaten, and byes can leave a
+        // deep runner-up with more wins; in round-robin it is the same as most wins first.
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> bracket.losses[i])
+                .thenComparingInt(i -> -bracket.wins[i])
+                .thenComparingInt(i -> i));
+        List<TournamentStanding> standings = new ArrayList<>(order.length);
+        for (int rank = 0; rank < order.length; rank++) {
+            int i = order[rank];
+            Character c = characters.get(i);
+            standings.add(TournamentStanding.builder()
+                    .rank(rank + 1)
+                    .characterId(c.getId().toString())
+                    .name(c.getName())
+                    .wins(bracket.wins[i])
+                    .losses(bracket.losses[i])
+                    .build());
+        }
+        return standings;
+    }
+
+    /** Per-entrant battle inputs, precomputed once so matches only touch int arrays. */
+    private static final class Entrants {
+        final int[] hp;
+        final int[] attack;
+        final int[] speed;
+        final IntUnaryOperator damage;
+
+        Entrants(List<Character> characters, StatsCalculatorResolver resolver, IntUnaryOperator damage) {
+            this.damage = damage;
+            int n = characters.size();
+            hp = new int[n];
+            attack = new int[n];
+            speed = new int[n];
+            for (int i = 0; i < n; i++) {
+                Character c = characters.get(i);
+                DerivedStats derived = resolver.derived(c);
+                hp[i] = c.getCurrentLifePoints();
+                attack[i] = derived.getAttack();
+                speed[i] = derived.getSpeed();
+            }
+        }
+
+        int size() {
+            return hp.length;
+        }
+
+        /** The home entrant plays the attacker's role and strikes first on equal speed. */
+        int fight(int home, int away) {
+            int outcome = speed[home] >= speed[away]
+                    ? BattleKernel.fight(CombatLog.ATTACKER, hp[home], attack[home], hp[away], attack[away], damage, null)
+                    : BattleKernel.fight(CombatLog.DEFENDER, hp[away], attack[away], hp[home], attack[home], damage, null);
+            return BattleKernel.winner(outcome) == CombatLog.ATTACKER ? home : away;
+        }
+    }
+
+    private static final class Bracket {
+        final int[] wins;
+        final int[] losses;
+        int rounds;
+        int matches;
+        int champion = -1;
+
+        Bracket(int entrants) {
+            wins = new int[entrants];
+            losses = new int[entrants];
+        }
+    }
+
+    private static final class RoundTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Entrants entrants;
+        private final int[] homes;
+        private final int[] aways;
+        private final int[] winners;
+        private final int from;
+        private final int to;
+
+        RoundTask(Entrants entrants, int[] homes, int[] aways, int[] winners, int from, int to) {
+            this.entrants = entrants;
+            this.homes = homes;
+            this.aways = aways;
+            this.winners = winners;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MATCHES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    winners[i] = entrants.fight(homes[i], aways[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RoundTask(entrants, homes, aways, winners, from, mid),
+                    new RoundTask(entrants, homes, aways, winners, mid, to));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS characters (
+    id                  UUID        PRIMARY KEY,
+    name                VARCHAR(64) NOT NULL,
+    job                 VARCHAR(32) NOT NULL,
+    life_points         INT         NOT NULL,
+    strength            INT         NOT NULL,
+    dexterity           INT         NOT NULL,
+    intelligence        INT         NOT NULL,
+    current_life_points INT         NOT NULL,
+    alive               BOOLEAN     NOT NULL,
+    version             BIGINT      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_characters_job_alive ON characters (job, alive);
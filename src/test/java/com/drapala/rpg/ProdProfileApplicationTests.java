@@ -0,0 +1,30 @@
+package com.drapala.rpg;
+
+import com.drapala.rpg.repository.CharacterRepository;
+import com.drapala.rpg.repository.JpaCharacterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prod-profile-tests")
+@ActiveProfiles("prod")
+class ProdProfileApplicationTests {
+
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    CharacterRepository repository;
+
+    @Test
+    void prodProfileStoresCharactersInTheDatabase() {
+        assertNotNull(dataSource);
+        assertInstanceOf(JpaCharacterRepository.class, repository);
+    }
+
+}
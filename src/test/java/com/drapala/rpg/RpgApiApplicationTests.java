@@ -1,13 +1,27 @@
 package com.drapala.rpg;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 class RpgApiApplicationTests {
 
+    @Autowired
+    ApplicationContext context;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void noDataSourceOutsideProd() {
+        assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+    }
+
 }
@@ -0,0 +1,26 @@
+package com.drapala.rpg;
+
+import com.drapala.rpg.repository.CharacterRepository;
+import com.drapala.rpg.repository.WriteBehindCharacterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:write-behind-profile-tests",
+        "rpg.repository.write-behind.enabled=true"})
+@ActiveProfiles("prod")
+class WriteBehindProdProfileApplicationTests {
+
+    @Autowired
+    CharacterRepository repository;
+
+    @Test
+    void writeBehindFrontsTheDatabaseWhenEnabled() {
+        assertInstanceOf(WriteBehindCharacterRepository.class, repository);
+    }
+
+}
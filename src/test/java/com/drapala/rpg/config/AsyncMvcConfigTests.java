@@ -0,0 +1,30 @@
+package com.drapala.rpg.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"rpg.mvc.async.threads=3", "rpg.mvc.async.queue-capacity=7"})
+class AsyncMvcConfigTests {
+
+    @Autowired
+    RequestMappingHandlerAdapter handlerAdapter;
+    @Autowired
+    @Qualifier("mvcAsyncExecutor")
+    AsyncTaskExecutor mvcAsyncExecutor;
+
+    @Test
+    void streamedResponsesRunOnTheBoundedExecutor() {
+        assertSame(mvcAsyncExecutor, ReflectionTestUtils.getField(handlerAdapter, "taskExecutor"));
+        ThreadPoolTaskExecutor pool = assertInstanceOf(ThreadPoolTaskExecutor.class, mvcAsyncExecutor);
+        assertEquals(3, pool.getMaxPoolSize());
+        assertEquals(7, pool.getQueueCapacity());
+    }
+}
@@ -0,0 +1,37 @@
+package com.drapala.rpg.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleExecutorConfigTests {
+    private final BattleExecutorConfig config = new BattleExecutorConfig();
+
+    @Test
+    void platformThreadsByDefault() {
+        AsyncTaskExecutor executor = config.battleExecutor(2, 10, 100, new MockEnvironment());
+        assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+        ((ThreadPoolTaskExecutor) executor).shutdown();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreadsWhenEnabledOnJava21() throws Exception {
+        MockEnvironment env = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+        AsyncTaskExecutor executor = config.battleExecutor(2, 10, 100, env);
+        assertInstanceOf(SimpleAsyncTaskExecutor.class, executor);
+        // Thread.isVirtual() is Java 21 API; the main build targets 17
+        Boolean virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+                .get(5, TimeUnit.SECONDS);
+        assertTrue(virtual);
+        ((SimpleAsyncTaskExecutor) executor).close();
+    }
+}
@@ -3,6 +3,7 @@ package com.drapala.rpg.controller;
 import com.drapala.rpg.dto.CreateCharacterRequest;
 import com.drapala.rpg.model.Job;
 import com.drapala.rpg.repository.CharacterRepository;
+import com.drapala.rpg.service.stats.JobRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +15,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -27,6 +34,8 @@ class BattleControllerTests {
     ObjectMapper objectMapper;
     @Autowired
     CharacterRepository repository;
+    @Autowired
+    JobRegistry jobs;
 
     @Test
     void battleWithDeadCharacterReturns409() throws Exception {
@@ -57,9 +66,7 @@ class BattleControllerTests {
 
         // Mark defender as dead directly via repository
         var def = repository.findById(UUID.fromString(defenderId)).orElseThrow();
-        def.setCurrentLifePoints(0);
-        def.setAlive(false);
-        repository.save(def);
+        repository.save(def.withLifePoints(0, false));
 
         // Attempt battle → expect 409 Conflict
         String battleJson = "{\"attackerId\":\"" + attackerId + "\",\"defenderId\":\"" + defenderId + "\"}";
@@ -88,4 +95,198 @@ class BattleControllerTests {
                         .content(battleJson))
                 .andExpect(status().isConflict());
     }
+
+    @Test
+    void battleBatchReportsResultsPerItem() throws Exception {
+        CreateCharacterRequest a = new CreateCharacterRequest();
+        a.setName("Batch_Warrior");
+        a.setJob(Job.WARRIOR);
+        String attackerResponse = mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(a)))
+                .andReturn().getResponse().getContentAsString();
+        var attackerId = objectMapper.readTree(attackerResponse).get("id").asText();
+
+        CreateCharacterRequest d = new CreateCharacterRequest();
+        d.setName("Batch_Thief");
+        d.setJob(Job.THIEF);
+        String defenderResponse = mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(d)))
+                .andReturn().getResponse().getContentAsString();
+        var defenderId = objectMapper.readTree(defenderResponse).get("id").asText();
+
+        String batchJson = "{\"battles\":["
+                + "{\"attackerId\":\"" + attackerId + "\",\"defenderId\":\"" + defenderId + "\"},"
+                + "{\"attackerId\":\"" + attackerId + "\",\"defenderId\":\"" + UUID.randomUUID() + "\"}]}";
+        mockMvc.perform(post("/api/battles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("OK"))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    void emptyBattleBatchReturns422() throws Exception {
+        mockMvc.perform(post("/api/battles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"battles\":[]}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void battleOddsAreEstimatedWithoutPersisting() throws Exception {
+        CreateCharacterRequest a = new CreateCharacterRequest();
+        a.setName("Odds_Warrior");
+        a.setJob(Job.WARRIOR);
+        String attackerResponse = mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(a)))
+                .andReturn().getResponse().getContentAsString();
+        var attackerId = objectMapper.readTree(attackerResponse).get("id").asText();
+
+        CreateCharacterRequest d = new CreateCharacterRequest();
+        d.setName("Odds_Thief");
+        d.setJob(Job.THIEF);
+        String defenderResponse = mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(d)))
+                .andReturn().getResponse().getContentAsString();
+        var defenderId = objectMapper.readTree(defenderResponse).get("id").asText();
+
+        mockMvc.perform(get("/api/battles/odds")
+                        .param("attacker", attackerId)
+                        .param("defender", defenderId)
+                        .param("trials", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.method").value("MONTE_CARLO"))
+                .andExpect(jsonPath("$.trials").value(5000));
+
+        mockMvc.perform(get("/api/characters/" + defenderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alive").value(true));
+    }
+
+    @Test
+    void battleOddsWithTooManyTrialsReturns422() throws Exception {
+        mockMvc.perform(get("/api/battles/odds")
+                        .param("attacker", UUID.randomUUID().toString())
+                        .param("defender", UUID.randomUUID().toString())
+                        .param("trials", "2000000"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error.details.trials").exists());
+    }
+
+    @Test
+    void exactOddsForOversizedMatchupReturn422() throws Exception {
+        String[] ids = new String[2];
+        for (int i = 0; i < ids.length; i++) {
+            CreateCharacterRequest req = new CreateCharacterRequest();
+            req.setName("Giant_" + (char) ('A' + i));
+            req.setJob(Job.WARRIOR);
+            String response = mockMvc.perform(post("/api/characters")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(req)))
+                    .andReturn().getResponse().getContentAsString();
+            ids[i] = objectMapper.readTree(response).get("id").asText();
+            var created = repository.findById(UUID.fromString(ids[i])).orElseThrow();
+            repository.save(created.withLifePoints(1000, true));
+        }
+
+        mockMvc.perform(get("/api/battles/odds")
+                        .param("attacker", ids[0])
+                        .param("defender", ids[1])
+                        .param("method", "EXACT"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error.code").value("MATCHUP_TOO_LARGE"));
+    }
+
+    @Test
+    void matchupTableCoversEveryJobPair() throws Exception {
+        mockMvc.perform(get("/api/battles/matchups"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(jobs.definitions().size() * jobs.definitions().size()))
+                .andExpect(jsonPath("$[0].attackerWinProbability").isNumber());
+    }
+
+    private String createCharacter(String name, Job job) throws Exception {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(job);
+        String body = mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+
+    @Test
+    void streamedBattleSendsOneEventPerHit() throws Exception {
+        String attackerId = createCharacter("Live_Warrior", Job.WARRIOR);
+        String defenderId = createCharacter("Live_Mage", Job.MAGE);
+        String battleJson = "{\"attackerId\":\"" + attackerId + "\",\"defenderId\":\"" + defenderId + "\"}";
+
+        var started = mockMvc.perform(post("/api/battles/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(battleJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals("START", objectMapper.readTree(lines[0]).get("type").asText());
+        for (int i = 1; i < lines.length - 1; i++) {
+            var hit = objectMapper.readTree(lines[i]);
+            assertEquals("HIT", hit.get("type").asText());
+            assertEquals(i, hit.get("hit").asInt());
+        }
+        var end = objectMapper.readTree(lines[lines.length - 1]);
+        assertEquals("END", end.get("type").asText());
+        mockMvc.perform(get("/api/characters/" + end.get("loserId").asText()))
+                .andExpect(jsonPath("$.alive").value(false));
+
+        // The outcome is committed, so streaming the same pair again fails before any event
+        mockMvc.perform(post("/api/battles/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(battleJson))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void streamedBattleUsesServerSentEventsWhenAccepted() throws Exception {
+        String attackerId = createCharacter("Sse_Thief", Job.THIEF);
+        String defenderId = createCharacter("Sse_Mage", Job.MAGE);
+
+        var started = mockMvc.perform(post("/api/battles/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content("{\"attackerId\":\"" + attackerId + "\",\"defenderId\":\"" + defenderId + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] events = body.split("\n\n");
+        assertTrue(events.length >= 3);
+        for (String event : events) {
+            assertTrue(event.startsWith("data: "), event);
+        }
+        assertEquals("END", objectMapper.readTree(events[events.length - 1].substring("data: ".length())).get("type").asText());
+    }
+
+    @Test
+    void streamedBattleWithUnknownCharacterReturns404() throws Exception {
+        String attackerId = createCharacter("Lone_Streamer", Job.WARRIOR);
+        mockMvc.perform(post("/api/battles/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"attackerId\":\"" + attackerId + "\",\"defenderId\":\"" + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isNotFound());
+    }
 }
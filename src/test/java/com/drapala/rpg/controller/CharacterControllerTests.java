@@ -10,8 +10,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -37,7 +45,72 @@ class CharacterControllerTests {
 
     @Test
     void getNonExistentCharacterReturns404() throws Exception {
-        mockMvc.perform(get("/api/characters/" + java.util.UUID.randomUUID()))
+        mockMvc.perform(get("/api/characters/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private void createCharacter(String name, Job job) throws Exception {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(job);
+        mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void listIsPaginatedWithNextCursorHeader() throws Exception {
+        createCharacter("Page_One", Job.WARRIOR);
+        createCharacter("Page_Two", Job.WARRIOR);
+
+        mockMvc.perform(get("/api/characters").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().exists("X-Next-Cursor"));
+
+        mockMvc.perform(get("/api/characters").param("limit", "5000"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void streamWritesOneFilteredCharacterPerLine() throws Exception {
+        createCharacter("Stream_Mage", Job.MAGE);
+        createCharacter("Stream_Thief", Job.THIEF);
+
+        var started = mockMvc.perform(get("/api/characters/stream").param("job", "MAGE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertTrue(lines.length >= 1);
+        for (String line : lines) {
+            assertEquals("MAGE", objectMapper.readTree(line).get("job").asText());
+        }
+    }
+
+    @Test
+    void opponentsAreOrderedByRatingGap() throws Exception {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName("Rating_Probe");
+        req.setJob(Job.WARRIOR);
+        String body = mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(body).get("id").asText();
+        createCharacter("Rating_Rival", Job.WARRIOR);
+
+        mockMvc.perform(get("/api/characters/" + id + "/opponents").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].character.job").exists())
+                .andExpect(jsonPath("$[0].ratingGap").isNumber());
+
+        mockMvc.perform(get("/api/characters/" + UUID.randomUUID() + "/opponents"))
                 .andExpect(status().isNotFound());
     }
 }
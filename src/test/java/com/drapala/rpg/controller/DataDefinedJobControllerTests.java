@@ -0,0 +1,43 @@
+package com.drapala.rpg.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "rpg.jobs.location=classpath:jobs-with-paladin.json")
+@AutoConfigureMockMvc
+class DataDefinedJobControllerTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void jobFromTheJobFileBindsInBodiesAndParameters() throws Exception {
+        mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Holy_Knight\",\"job\":\"PALADIN\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.job").value("PALADIN"))
+                .andExpect(jsonPath("$.currentLifePoints").value(18));
+
+        mockMvc.perform(get("/api/characters/count").param("job", "PALADIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+    }
+
+    @Test
+    void jobMissingFromTheJobFileIsRejected() throws Exception {
+        mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Sneaky_One\",\"job\":\"DRUID\"}"))
+                .andExpect(status().is4xxClientError());
+    }
+}
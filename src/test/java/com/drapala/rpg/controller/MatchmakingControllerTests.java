@@ -0,0 +1,58 @@
+package com.drapala.rpg.controller;
+
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.model.Job;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MatchmakingControllerTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private String create(String name) throws Exception {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(Job.WARRIOR);
+        String body = mockMvc.perform(post("/api/characters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+
+    @Test
+    void enqueueAcceptsOnceAndValidates() throws Exception {
+        String id = create("Queue_Hero");
+        String payload = objectMapper.writeValueAsString(Map.of("characterId", id));
+
+        mockMvc.perform(post("/api/matchmaking/enqueue").contentType(MediaType.APPLICATION_JSON).content(payload))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.characterId").value(id));
+
+        mockMvc.perform(post("/api/matchmaking/enqueue").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("characterId", UUID.randomUUID().toString()))))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/matchmaking/enqueue").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+}
@@ -0,0 +1,196 @@
+package com.drapala.rpg.controller;
+
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.dto.JobMatchupResponse;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.odds.BattleOddsService;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveControllerTests {
+
+    @Autowired
+    WebTestClient client;
+
+    private JsonNode create(String name, Job job) {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(job);
+        return client.post().uri("/api/characters")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JsonNode.class)
+                .returnResult().getResponseBody();
+    }
+
+    private static String id(JsonNode character) {
+        return character.get("id").asText();
+    }
+
+    @Test
+    void createdCharacterCanBeFetched() {
+        JsonNode created = create("Flux_Warrior", Job.WARRIOR);
+        client.get().uri("/api/characters/{id}", id(created))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).isEqualTo(created);
+
+        client.get().uri("/api/characters/{id}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error.code").isEqualTo("NOT_FOUND");
+    }
+
+    @Test
+    void validationErrorsReturn422() {
+        client.post().uri("/api/characters")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Ab", "job", "MAGE"))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody().jsonPath("$.error.details.name").exists();
+
+        client.get().uri("/api/characters?limit=5000")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void pagesFollowTheCursorAndStreamCoversTheSameCharacters() {
+        Set<String> created = Set.of(id(create("Page_Flux_A", Job.THIEF)),
+                id(create("Page_Flux_B", Job.THIEF)), id(create("Page_Flux_C", Job.MAGE)));
+
+        Set<String> paged = new HashSet<>();
+        String after = null;
+        do {
+            String uri = "/api/characters?limit=2" + (after != null ? "&after=" + after : "");
+            EntityExchangeResult<JsonNode> page = client.get().uri(uri)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(JsonNode.class).returnResult();
+            assertTrue(page.getResponseBody().size() <= 2);
+            page.getResponseBody().forEach(c -> assertTrue(paged.add(id(c)), "listed twice: " + id(c)));
+            after = page.getResponseHeaders().getFirst(CharacterController.NEXT_CURSOR);
+        } while (after != null);
+        assertTrue(paged.containsAll(created));
+
+        List<JsonNode> streamed = client.get().uri("/api/characters/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(JsonNode.class).getResponseBody()
+                .collectList().block();
+        assertNotNull(streamed);
+        assertTrue(streamed.stream().map(ReactiveControllerTests::id).toList().containsAll(created));
+
+        client.get().uri("/api/characters/count?job=THIEF")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.count").value(count -> assertTrue(((Number) count).longValue() >= 2));
+    }
+
+    @Test
+    void battleKillsTheLoserAndADeadCharacterCannotFight() {
+        String attacker = id(create("Flux_Attacker", Job.WARRIOR));
+        String defender = id(create("Flux_Defender", Job.MAGE));
+
+        JsonNode result = client.post().uri("/api/battles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("attackerId", attacker, "defenderId", defender))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertNotNull(result);
+        assertTrue(result.get("battleLog").size() > 0);
+        String loser = result.get("loserId").asText();
+        assertTrue(loser.equals(attacker) || loser.equals(defender));
+
+        client.get().uri("/api/characters/{id}", loser)
+                .exchange()
+                .expectBody().jsonPath("$.alive").isEqualTo(false);
+        client.post().uri("/api/battles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("attackerId", attacker, "defenderId", defender))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+        client.get().uri("/api/battles/matchups")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].attackerJob").exists();
+    }
+
+    @Test
+    void matchupsAreComputedOffTheEventLoop() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        BattleOddsService odds = new BattleOddsService(new InMemoryCharacterRepository(),
+                new StatsCalculatorResolver(JobRegistry.defaults()), List.of()) {
+            @Override
+            public List<JobMatchupResponse> matchups() {
+                thread.set(Thread.currentThread().getName());
+                return List.of();
+            }
+        };
+        Flux<JobMatchupResponse> matchups = new ReactiveBattleController(null, null, odds).matchups();
+        assertNull(thread.get());
+        assertEquals(List.of(), matchups.collectList().block());
+        assertTrue(thread.get().startsWith("boundedElastic"), thread.get());
+    }
+
+    @Test
+    void streamedBattleEmitsStartHitsAndEnd() {
+        String attacker = id(create("Flux_Streamer", Job.THIEF));
+        String defender = id(create("Flux_Watched", Job.WARRIOR));
+
+        List<JsonNode> events = client.post().uri("/api/battles/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(Map.of("attackerId", attacker, "defenderId", defender))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(JsonNode.class).getResponseBody()
+                .collectList().block();
+        assertNotNull(events);
+        assertEquals("START", events.get(0).get("type").asText());
+        assertTrue(events.stream().skip(1).limit(events.size() - 2).allMatch(e -> e.get("type").asText().equals("HIT")));
+        JsonNode end = events.get(events.size() - 1);
+        assertEquals("END", end.get("type").asText());
+        client.get().uri("/api/characters/{id}", end.get("loserId").asText())
+                .exchange()
+                .expectBody().jsonPath("$.alive").isEqualTo(false);
+
+        client.post().uri("/api/battles/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(Map.of("attackerId", attacker, "defenderId", UUID.randomUUID()))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,22 @@
+package com.drapala.rpg.load;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link RestApiLoadTests} against the WebFlux stack on Netty, with the same requests and tunables,
+ * so {@code ./mvnw -Pload test} leaves comparable summaries in {@code target/load-test/mvc} and
+ * {@code target/load-test/reactive}.
+ */
+@Tag("load")
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"logging.level.com.drapala.rpg=WARN", "spring.main.web-application-type=reactive"})
+class ReactiveRestApiLoadTests extends RestApiLoadTests {
+
+    @Override
+    String stack() {
+        return "reactive";
+    }
+}
@@ -0,0 +1,301 @@
+package com.drapala.rpg.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end REST load: boots the application on a random port, seeds characters, then runs a
+ * closed-loop mix of create/get/list/battle requests from many concurrent clients. Latencies go
+ * into HdrHistograms per operation; the summary (p50/p99/p999, throughput, errors) is printed and
+ * written with the full percentile distributions under {@code target/load-test/<stack>}. This class
+ * drives the Spring MVC stack; {@link ReactiveRestApiLoadTests} runs the same load against WebFlux.
+ *
+ * <p>Excluded from the normal build; run with {@code ./mvnw -Pload test}. Tunables are system
+ * properties: {@code rpg.load.characters}, {@code rpg.load.clients}, {@code rpg.load.warmup-seconds},
+ * {@code rpg.load.seconds} and {@code rpg.load.mix} (e.g. {@code create=10,get=50,list=10,battle=30}).
+ *
+ * <p>Battles kill their loser, so each battle slot is refilled with a new character after a win;
+ * those creates are recorded as {@code refill}. A 409 for a character that died in a concurrent
+ * battle is counted as a conflict, not an error.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.drapala.rpg=WARN")
+class RestApiLoadTests {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    enum Operation { CREATE, GET, LIST, BATTLE, REFILL }
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /** Names the web stack under test in the summary and the output directory. */
+    String stack() {
+        return "mvc";
+    }
+
+    @Test
+    void restApiUnderConcurrentMixedLoad() throws Exception {
+        int characters = Integer.getInteger("rpg.load.characters", 1000);
+        int clients = Integer.getInteger("rpg.load.clients", 64);
+        int warmupSeconds = Integer.getInteger("rpg.load.warmup-seconds", 5);
+        int seconds = Integer.getInteger("rpg.load.seconds", 30);
+        Map<Operation, Integer> mix = parseMix(System.getProperty("rpg.load.mix", "create=10,get=50,list=10,battle=30"));
+        if (characters < 2 || clients < 1) {
+            throw new IllegalArgumentException("Load test needs at least 2 characters and 1 client");
+        }
+
+        AtomicReferenceArray<String> roster = new AtomicReferenceArray<>(characters);
+        for (int i = 0; i < characters; i++) {
+            roster.set(i, create());
+        }
+
+        run(new Stats(), roster, mix, clients, warmupSeconds);
+        Stats stats = new Stats();
+        long elapsedNanos = run(stats, roster, mix, clients, seconds);
+
+        String summary = stats.summary(stack(), elapsedNanos, characters, clients, mix);
+        System.out.println(summary);
+        Path dir = Path.of("target", "load-test", stack());
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("summary.txt"), summary);
+        for (Operation op : Operation.values()) {
+            try (PrintStream out = new PrintStream(dir.resolve(op.name().toLowerCase() + ".hgrm").toFile())) {
+                stats.latency.get(op).outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        assertEquals(0, stats.totalErrors(), summary);
+        assertTrue(stats.total() > 0, "no requests completed");
+    }
+
+    private long run(Stats stats, AtomicReferenceArray<String> roster, Map<Operation, Integer> mix,
+                     int clients, int seconds) throws Exception {
+        int weight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> workers = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                workers.add(pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        step(pick(mix, weight), roster, stats);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void step(Operation op, AtomicReferenceArray<String> roster, Stats stats) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long begin = System.nanoTime();
+        HttpResponse<String> res = switch (op) {
+            case CREATE -> call(post("/api/characters", characterJson()));
+            case GET -> call(get("/api/characters/" + roster.get(random.nextInt(roster.length()))));
+            case LIST -> call(get("/api/characters?alive=true&limit=50"));
+            default -> null;
+        };
+        if (op != Operation.BATTLE) {
+            stats.record(op, begin, res);
+            return;
+        }
+        int a = random.nextInt(roster.length());
+        int d = (a + 1 + random.nextInt(roster.length() - 1)) % roster.length();
+        res = call(post("/api/battles", "{\"attackerId\":\"" + roster.get(a) + "\",\"defenderId\":\""
+                + roster.get(d) + "\",\"includeLog\":false}"));
+        stats.record(op, begin, res);
+        if (res != null && res.statusCode() == 200) {
+            String loserId = field(res, "loserId");
+            int slot = loserId.equals(roster.get(a)) ? a : d;
+            long refillBegin = System.nanoTime();
+            HttpResponse<String> created = call(post("/api/characters", characterJson()));
+            stats.record(Operation.REFILL, refillBegin, created);
+            if (created != null && created.statusCode() == 201) {
+                roster.compareAndSet(slot, loserId, field(created, "id"));
+            }
+        }
+    }
+
+    private String create() {
+        HttpResponse<String> res = call(post("/api/characters", characterJson()));
+        if (res == null || res.statusCode() != 201) {
+            throw new IllegalStateException("Seeding failed: " + (res == null ? "no response" : res.statusCode() + " " + res.body()));
+        }
+        return field(res, "id");
+    }
+
+    private String field(HttpResponse<String> res, String name) {
+        try {
+            return objectMapper.readTree(res.body()).path(name).asText();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** The response, or {@code null} when the request failed without one. */
+    private HttpResponse<String> call(HttpRequest request) {
+        try {
+            return send(request);
+        } catch (IOException ex) {
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String characterJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder name = new StringBuilder("Load_");
+        for (int i = 0; i < 8; i++) {
+            name.append((char) ('a' + random.nextInt(26)));
+        }
+        String job = switch (random.nextInt(3)) {
+            case 0 -> "WARRIOR";
+            case 1 -> "THIEF";
+            default -> "MAGE";
+        };
+        return "{\"name\":\"" + name + "\",\"job\":\"" + job + "\"}";
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int weight) {
+        int roll = ThreadLocalRandom.current().nextInt(weight);
+        for (Map.Entry<Operation, Integer> e : mix.entrySet()) {
+            roll -= e.getValue();
+            if (roll < 0) {
+                return e.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty load mix");
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            Operation op = Operation.valueOf(kv[0].trim().toUpperCase());
+            if (op == Operation.REFILL) {
+                throw new IllegalArgumentException("refill follows battles and cannot be weighted");
+            }
+            mix.put(op, Integer.parseInt(kv[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Load mix needs a positive weight: " + spec);
+        }
+        return mix;
+    }
+
+    /** Per-operation latency histograms (microseconds) and outcome counters. */
+    static final class Stats {
+        final Map<Operation, Histogram> latency = new EnumMap<>(Operation.class);
+        final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+        final Map<Operation, AtomicLong> conflicts = new EnumMap<>(Operation.class);
+
+        Stats() {
+            for (Operation op : Operation.values()) {
+                latency.put(op, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+                errors.put(op, new AtomicLong());
+                conflicts.put(op, new AtomicLong());
+            }
+        }
+
+        void record(Operation op, long beginNanos, HttpResponse<?> res) {
+            int status = res == null ? -1 : res.statusCode();
+            long micros = Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - beginNanos));
+            latency.get(op).recordValue(micros);
+            if (status == 409 && op == Operation.BATTLE) {
+                conflicts.get(op).incrementAndGet();
+            } else if (status < 200 || status >= 300) {
+                errors.get(op).incrementAndGet();
+            }
+        }
+
+        long total() {
+            return latency.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+
+        long totalErrors() {
+            return errors.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+
+        String summary(String stack, long elapsedNanos, int characters, int clients, Map<Operation, Integer> mix) {
+            double seconds = elapsedNanos / 1e9;
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("REST load (%s): %d clients, %d seeded characters, mix %s, %.1f s%n",
+                    stack, clients, characters, mix, seconds));
+            out.append(String.format("%-8s %10s %10s %9s %9s %9s %9s %8s %9s%n",
+                    "op", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "conflicts"));
+            for (Operation op : Operation.values()) {
+                Histogram h = latency.get(op);
+                out.append(String.format("%-8s %10d %10.0f %9.2f %9.2f %9.2f %9.2f %8d %9d%n",
+                        op.name().toLowerCase(), h.getTotalCount(), h.getTotalCount() / seconds,
+                        h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(99) / 1000.0,
+                        h.getValueAtPercentile(99.9) / 1000.0, h.getMaxValue() / 1000.0,
+                        errors.get(op).get(), conflicts.get(op).get()));
+            }
+            out.append(String.format("total    %10d %10.0f req/s, %d errors%n", total(), total() / seconds, totalErrors()));
+            return out.toString();
+        }
+    }
+}
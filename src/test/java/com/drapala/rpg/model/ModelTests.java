@@ -26,5 +26,24 @@ class ModelTests {
         assertEquals(20, c.getCurrentLifePoints());
         assertTrue(c.isAlive());
     }
-}
 
+    @Test
+    void withLifePointsReturnsNewSnapshot() {
+        Stats stats = Stats.builder().lifePoints(15).strength(4).dexterity(10).intelligence(4).build().validate();
+        Character c = Character.builder()
+                .id(UUID.randomUUID())
+                .name("Shadow_Thief")
+                .job(Job.THIEF)
+                .stats(stats)
+                .build();
+
+        Character dead = c.withLifePoints(0, false);
+
+        assertNotSame(c, dead);
+        assertEquals(c.getId(), dead.getId());
+        assertFalse(dead.isAlive());
+        assertTrue(c.isAlive());
+        assertEquals(15, c.getCurrentLifePoints());
+        assertThrows(IllegalArgumentException.class, () -> c.withLifePoints(-1, false));
+    }
+}
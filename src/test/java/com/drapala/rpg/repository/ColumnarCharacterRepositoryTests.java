@@ -0,0 +1,197 @@
+package com.drapala.rpg.repository;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCharacterRepositoryTests {
+    private static final Job[] JOBS = {Job.WARRIOR, Job.THIEF, Job.MAGE};
+
+    private final ColumnarCharacterRepository repo = new ColumnarCharacterRepository();
+
+    private static Character character(String name, Job job) {
+        return Character.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .job(job)
+                .stats(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(7).build())
+                .build();
+    }
+
+    @Test
+    void materializesWhatWasSaved() {
+        Character c = repo.save(character("Arthur_Hero", Job.MAGE));
+        Character stored = repo.findById(c.getId()).orElseThrow();
+
+        assertEquals(c.getId(), stored.getId());
+        assertEquals("Arthur_Hero", stored.getName());
+        assertEquals(Job.MAGE, stored.getJob());
+        assertEquals(c.getStats(), stored.getStats());
+        assertTrue(stored.isAlive());
+        assertEquals(0, stored.getVersion());
+        assertTrue(repo.findById(UUID.randomUUID()).isEmpty());
+
+        Character updated = repo.save(c.withLifePoints(4, true));
+        assertEquals(1, updated.getVersion());
+        assertEquals(4, repo.findById(c.getId()).orElseThrow().getCurrentLifePoints());
+    }
+
+    @Test
+    void compareAndSetChecksVersions() {
+        Character a = repo.save(character("First_Hero", Job.WARRIOR));
+        Character b = repo.save(character("Second_Hero", Job.THIEF));
+
+        assertTrue(repo.compareAndSetBoth(a, a.withLifePoints(9, true), b, b.withLifePoints(0, false)));
+        assertEquals(1, repo.findById(b.getId()).orElseThrow().getVersion());
+        assertFalse(repo.findById(b.getId()).orElseThrow().isAlive());
+
+        // Stale snapshots lose, and a failed pair leaves both rows untouched
+        assertFalse(repo.compareAndSetBoth(a, a, b, b));
+        assertFalse(repo.compareAndSet(0, a));
+        assertEquals(9, repo.findById(a.getId()).orElseThrow().getCurrentLifePoints());
+    }
+
+    @Test
+    void snapshotsCarryTheStoredDerivedStats() {
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+        Character c = character("Arthur_Hero", Job.THIEF);
+        DerivedStats expected = resolver.derived(character("Other_Hero", Job.THIEF));
+        repo.save(c);
+
+        Character found = repo.findById(c.getId()).orElseThrow();
+        assertEquals(expected, found.derived(ignored -> fail("derived stats recomputed after a read")));
+        Character listed = repo.findAll().get(0);
+        assertEquals(expected, listed.derived(ignored -> fail("derived stats recomputed after a scan")));
+        assertTrue(repo.compareAndSet(0, found.withLifePoints(2, true)));
+        assertEquals(expected, resolver.derived(repo.findById(c.getId()).orElseThrow()));
+    }
+
+    @Test
+    void pairCommitsOnDifferentCharactersRunAlongsideAppends() throws Exception {
+        int pairs = 8;
+        int commits = 5_000;
+        List<Character[]> fighters = new ArrayList<>();
+        for (int p = 0; p < pairs; p++) {
+            fighters.add(new Character[]{repo.save(character("Left_" + p, Job.WARRIOR)), repo.save(character("Right_" + p, Job.MAGE))});
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(pairs + 1);
+        try {
+            List<Future<?>> work = new ArrayList<>();
+            for (Character[] pair : fighters) {
+                work.add(pool.submit(() -> {
+                    for (int i = 0; i < commits; i++) {
+                        Character a = repo.findById(pair[0].getId()).orElseThrow();
+                        Character b = repo.findById(pair[1].getId()).orElseThrow();
+                        assertEquals(a.getVersion(), b.getVersion());
+                        assertTrue(repo.compareAndSetBoth(a, a.withLifePoints(1 + i % 20, true), b, b.withLifePoints(20 - i % 20, true)));
+                    }
+                    return null;
+                }));
+            }
+            // Appends grow and replace the columns while the pairs commit
+            work.add(pool.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    repo.save(character("Npc_" + (10_000 + i), JOBS[i % JOBS.length]));
+                }
+                return null;
+            }));
+            for (Future<?> f : work) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(pairs * 2 + 5_000, repo.size());
+        for (Character[] pair : fighters) {
+            assertEquals(commits, repo.findById(pair[0].getId()).orElseThrow().getVersion());
+            assertEquals(commits, repo.findById(pair[1].getId()).orElseThrow().getVersion());
+        }
+    }
+
+    @Test
+    void growsAndScansInIdOrderWithFilters() {
+        List<Character> saved = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            saved.add(repo.save(character("Npc_Name", i % 5 == 0 ? Job.MAGE : Job.THIEF)));
+        }
+        assertEquals(5000, repo.size());
+        saved.forEach(c -> assertEquals(c.getId(), repo.findById(c.getId()).orElseThrow().getId()));
+
+        CharacterQuery mages = CharacterQuery.builder().job(Job.MAGE).alive(true).build();
+        assertEquals(1000, repo.count(mages));
+        assertEquals(5000, repo.findAll().size());
+
+        List<Character> paged = new ArrayList<>();
+        List<Character> page = repo.findPage(mages, null, 300);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            page = repo.findPage(mages, page.get(page.size() - 1).getId(), 300);
+        }
+        List<UUID> expected = saved.stream().filter(mages::matches).map(Character::getId)
+                .sorted(Comparator.naturalOrder()).toList();
+        assertEquals(expected, paged.stream().map(Character::getId).toList());
+    }
+
+    @Test
+    void packedColumnsKeepTheirFullUnsignedRange() {
+        Character max = Character.builder()
+                .id(UUID.randomUUID())
+                .name("Max_Hero")
+                .job(Job.WARRIOR)
+                .stats(Stats.builder().lifePoints(65_535).strength(255).dexterity(255).intelligence(255).build())
+                .build();
+        repo.save(max);
+        Character stored = repo.findById(max.getId()).orElseThrow();
+        assertEquals(max.getStats(), stored.getStats());
+        assertEquals(65_535, stored.getCurrentLifePoints());
+
+        Character over = character("Over_Hero", Job.THIEF).withLifePoints(65_536, true);
+        assertThrows(IllegalStateException.class, () -> repo.save(over));
+        assertTrue(repo.findById(over.getId()).isEmpty());
+        assertThrows(IllegalStateException.class, () -> repo.save(stored.withLifePoints(70_000, true)));
+        assertEquals(65_535, repo.findById(max.getId()).orElseThrow().getCurrentLifePoints());
+        Character tooStrong = Character.builder()
+                .id(UUID.randomUUID())
+                .name("Strong_Hero")
+                .job(Job.WARRIOR)
+                .stats(Stats.builder().lifePoints(20).strength(256).dexterity(5).intelligence(5).build())
+                .build();
+        assertThrows(IllegalStateException.class, () -> repo.save(tooStrong));
+        assertEquals(1, repo.size());
+    }
+
+    @Test
+    void retainsAFractionOfTheObjectStorePerCharacter() {
+        // A full 3/4 of the ID table, so the measurement includes no half-empty growth headroom
+        int rows = 12_288;
+        InMemoryCharacterRepository objects = new InMemoryCharacterRepository();
+        for (int i = 0; i < rows; i++) {
+            Character c = character("Npc_" + (10_000 + i), JOBS[i % JOBS.length]).withLifePoints(i % 21, true);
+            repo.save(c);
+            objects.save(c);
+        }
+
+        long columnar = GraphLayout.parseInstance(repo).totalSize() / rows;
+        long inMemory = GraphLayout.parseInstance(objects).totalSize() / rows;
+        System.out.printf("Retained bytes per character: columnar %d, in-memory %d (%.1fx)%n",
+                columnar, inMemory, (double) inMemory / columnar);
+
+        assertTrue(columnar * 4 <= inMemory, () -> "columnar " + columnar + " B vs in-memory " + inMemory + " B per character");
+    }
+}
@@ -5,7 +5,12 @@ import com.drapala.rpg.model.Job;
 import com.drapala.rpg.model.Stats;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,5 +29,199 @@ class InMemoryCharacterRepositoryTest {
         assertTrue(repo.findById(c.getId()).isPresent());
         assertFalse(repo.findAll().isEmpty());
     }
-}
 
+    @Test
+    void compareAndSetRequiresCurrentVersion() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        Character c = repo.save(Character.builder()
+                .id(UUID.randomUUID())
+                .name("Arthur_Hero")
+                .job(Job.WARRIOR)
+                .stats(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build())
+                .build());
+        assertEquals(0, c.getVersion());
+
+        assertTrue(repo.compareAndSet(0, c.withLifePoints(12, true)));
+        Character stored = repo.findById(c.getId()).orElseThrow();
+        assertEquals(1, stored.getVersion());
+        assertEquals(12, stored.getCurrentLifePoints());
+
+        // A writer still holding version 0 loses
+        assertFalse(repo.compareAndSet(0, c.withLifePoints(0, false)));
+        assertEquals(12, repo.findById(c.getId()).orElseThrow().getCurrentLifePoints());
+        // Snapshots handed out earlier are never mutated
+        assertEquals(20, c.getCurrentLifePoints());
+    }
+
+    @Test
+    void compareAndSetBothWritesNeitherWhenOneVersionIsStale() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        Stats stats = Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build();
+        Character a = repo.save(Character.builder().id(UUID.randomUUID()).name("First_Hero").job(Job.WARRIOR).stats(stats).build());
+        Character b = repo.save(Character.builder().id(UUID.randomUUID()).name("Second_Hero").job(Job.WARRIOR).stats(stats).build());
+        Character bMoved = repo.save(b.withLifePoints(15, true));
+
+        assertFalse(repo.compareAndSetBoth(a, a.withLifePoints(0, false), b, b.withLifePoints(20, true)));
+        // The first character was never touched: same snapshot, same version
+        assertSame(a, repo.findById(a.getId()).orElseThrow());
+        assertEquals(1, repo.count(CharacterQuery.builder().alive(true).job(Job.WARRIOR).maxHp(15).build()));
+
+        assertTrue(repo.compareAndSetBoth(a, a.withLifePoints(0, false), bMoved, bMoved.withLifePoints(9, true)));
+        assertEquals(1, repo.findById(a.getId()).orElseThrow().getVersion());
+        assertFalse(repo.findById(a.getId()).orElseThrow().isAlive());
+        assertEquals(2, repo.findById(b.getId()).orElseThrow().getVersion());
+        assertEquals(9, repo.findById(b.getId()).orElseThrow().getCurrentLifePoints());
+    }
+
+    @Test
+    void lockFreeReadersSeeBothSidesOfABattleOrNeither() throws InterruptedException {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        Stats stats = Stats.builder().lifePoints(1000).strength(10).dexterity(5).intelligence(5).build();
+        UUID first = repo.save(Character.builder().id(UUID.randomUUID()).name("First_Hero").job(Job.WARRIOR).stats(stats).build()).getId();
+        UUID second = repo.save(Character.builder().id(UUID.randomUUID()).name("Second_Hero").job(Job.WARRIOR).stats(stats).build()).getId();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> torn = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                // Both versions move together, so reading the first side and then the second can never go back
+                long seenFirst = repo.findById(first).orElseThrow().getVersion();
+                long seenSecond = repo.findById(second).orElseThrow().getVersion();
+                if (seenSecond < seenFirst) {
+                    torn.compareAndSet(null, "first at version " + seenFirst + ", second at " + seenSecond);
+                }
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                Character a = repo.findById(first).orElseThrow();
+                Character b = repo.findById(second).orElseThrow();
+                assertTrue(repo.compareAndSetBoth(a, a.withLifePoints(1 + i % 1000, true), b, b.withLifePoints(1000 - i % 1000, true)));
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertNull(torn.get());
+        assertEquals(100_000, repo.findById(first).orElseThrow().getVersion());
+        assertEquals(100_000, repo.findById(second).orElseThrow().getVersion());
+    }
+
+    @Test
+    void saveBumpsVersionOfExistingCharacter() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        Character c = repo.save(Character.builder()
+                .id(UUID.randomUUID())
+                .name("Magey")
+                .job(Job.MAGE)
+                .stats(Stats.builder().lifePoints(12).strength(5).dexterity(6).intelligence(10).build())
+                .build());
+        Character updated = repo.save(c.withLifePoints(3, true));
+        assertEquals(1, updated.getVersion());
+        assertFalse(repo.compareAndSet(0, c));
+    }
+
+    @Test
+    void findPageReturnsIdOrderedSlicesAfterCursor() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        for (int i = 0; i < 25; i++) {
+            repo.save(Character.builder()
+                    .id(UUID.randomUUID())
+                    .name("Arthur_Hero")
+                    .job(Job.WARRIOR)
+                    .stats(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build())
+                    .build());
+        }
+
+        List<Character> first = repo.findPage(null, 10);
+        List<Character> second = repo.findPage(first.get(9).getId(), 10);
+        List<Character> third = repo.findPage(second.get(9).getId(), 10);
+
+        assertEquals(10, first.size());
+        assertEquals(10, second.size());
+        assertEquals(5, third.size());
+        assertTrue(first.get(9).getId().compareTo(second.get(0).getId()) < 0);
+        for (int i = 1; i < second.size(); i++) {
+            assertTrue(second.get(i - 1).getId().compareTo(second.get(i).getId()) < 0);
+        }
+    }
+
+    @Test
+    void cursorWalksVisitEveryMatchOnceInIdOrder() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        Job[] jobs = {Job.WARRIOR, Job.THIEF, Job.MAGE};
+        for (int i = 0; i < 60; i++) {
+            Character c = repo.save(Character.builder()
+                    .id(UUID.randomUUID())
+                    .name("Walked_Hero")
+                    .job(jobs[i % 3])
+                    .stats(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build())
+                    .build());
+            if (i % 4 == 0) {
+                assertTrue(repo.compareAndSet(0, c.withLifePoints(0, false)));
+            } else if (i % 4 == 1) {
+                assertTrue(repo.compareAndSet(0, c.withLifePoints(7, true)));
+            }
+        }
+        List<CharacterQuery> queries = List.of(
+                CharacterQuery.ALL,
+                CharacterQuery.builder().alive(true).build(),
+                CharacterQuery.builder().job(Job.MAGE).build(),
+                CharacterQuery.builder().job(Job.THIEF).alive(false).build(),
+                CharacterQuery.builder().minHp(1).maxHp(10).build(),
+                CharacterQuery.builder().alive(true).minHp(8).build());
+        for (CharacterQuery query : queries) {
+            List<UUID> expected = repo.findAll().stream()
+                    .filter(query::matches)
+                    .map(Character::getId)
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+            List<UUID> walked = new ArrayList<>();
+            UUID after = null;
+            List<Character> page;
+            do {
+                page = repo.findPage(query, after, 7);
+                assertTrue(page.size() <= 7);
+                page.forEach(c -> walked.add(c.getId()));
+                after = page.isEmpty() ? null : page.get(page.size() - 1).getId();
+            } while (page.size() == 7);
+            assertEquals(expected, walked, query.toString());
+        }
+    }
+
+    @Test
+    void indexesFollowSavesAndBattleUpdates() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        Character mage = null;
+        for (int i = 0; i < 6; i++) {
+            Character c = repo.save(Character.builder()
+                    .id(UUID.randomUUID())
+                    .name("Indexed_Hero")
+                    .job(i % 2 == 0 ? Job.MAGE : Job.WARRIOR)
+                    .stats(Stats.builder().lifePoints(12).strength(5).dexterity(6).intelligence(10).build())
+                    .build());
+            if (c.getJob() == Job.MAGE) {
+                mage = c;
+            }
+        }
+        CharacterQuery aliveMages = CharacterQuery.builder().job(Job.MAGE).alive(true).build();
+        CharacterQuery dead = CharacterQuery.builder().alive(false).build();
+        assertEquals(3, repo.count(aliveMages));
+        assertEquals(0, repo.count(dead));
+
+        assertTrue(repo.compareAndSet(mage.getVersion(), mage.withLifePoints(0, false)));
+        assertEquals(2, repo.count(aliveMages));
+        assertEquals(1, repo.count(dead));
+        assertEquals(List.of(mage.getId()), repo.findPage(dead, null, 10).stream().map(Character::getId).toList());
+
+        // A losing CAS leaves the indexes alone
+        assertFalse(repo.compareAndSet(mage.getVersion(), mage));
+        assertEquals(1, repo.count(dead));
+
+        repo.restore(mage.withVersion(5));
+        assertEquals(3, repo.count(aliveMages));
+        assertEquals(0, repo.count(dead));
+        assertEquals(3, repo.count(CharacterQuery.builder().job(Job.WARRIOR).build()));
+        assertEquals(6, repo.count(CharacterQuery.builder().minHp(12).build()));
+    }
+}
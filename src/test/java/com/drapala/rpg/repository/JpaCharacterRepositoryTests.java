@@ -0,0 +1,135 @@
+package com.drapala.rpg.repository;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaCharacterRepositoryTests {
+
+    private final EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScript("db/schema.sql")
+            .build();
+    private final JpaCharacterRepository repo =
+            new JpaCharacterRepository(new JdbcTemplate(db), new TransactionTemplate(new DataSourceTransactionManager(db)));
+
+    @AfterEach
+    void shutdown() {
+        db.shutdown();
+    }
+
+    private static Character character(String name, Job job) {
+        return Character.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .job(job)
+                .stats(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build())
+                .build();
+    }
+
+    @Test
+    void saveInsertsThenBumpsVersion() {
+        Character c = repo.save(character("Arthur_Hero", Job.WARRIOR));
+        assertEquals(0, c.getVersion());
+
+        Character updated = repo.save(c.withLifePoints(7, true));
+
+        assertEquals(1, updated.getVersion());
+        Character stored = repo.findById(c.getId()).orElseThrow();
+        assertEquals(7, stored.getCurrentLifePoints());
+        assertEquals(1, stored.getVersion());
+        assertEquals(Job.WARRIOR, stored.getJob());
+        assertEquals(c.getStats(), stored.getStats());
+    }
+
+    @Test
+    void compareAndSetRequiresCurrentVersion() {
+        Character c = repo.save(character("Arthur_Hero", Job.WARRIOR));
+
+        assertTrue(repo.compareAndSet(0, c.withLifePoints(12, true)));
+        assertFalse(repo.compareAndSet(0, c.withLifePoints(1, true)));
+        Character stored = repo.findById(c.getId()).orElseThrow();
+        assertEquals(12, stored.getCurrentLifePoints());
+        assertEquals(1, stored.getVersion());
+    }
+
+    @Test
+    void compareAndSetBothAppliesNeitherOnConflict() {
+        Character a = repo.save(character("Arthur_Hero", Job.WARRIOR));
+        Character d = repo.save(character("Merlin_Mage", Job.MAGE));
+        repo.save(d.withLifePoints(3, true));
+
+        assertFalse(repo.compareAndSetBoth(a, a.withLifePoints(5, true), d, d.withLifePoints(0, false)));
+        assertEquals(0, repo.findById(a.getId()).orElseThrow().getVersion());
+        assertEquals(20, repo.findById(a.getId()).orElseThrow().getCurrentLifePoints());
+
+        Character current = repo.findById(d.getId()).orElseThrow();
+        assertTrue(repo.compareAndSetBoth(a, a.withLifePoints(5, true), current, current.withLifePoints(0, false)));
+        assertEquals(1, repo.findById(a.getId()).orElseThrow().getVersion());
+        assertFalse(repo.findById(d.getId()).orElseThrow().isAlive());
+    }
+
+    @Test
+    void saveAllInsertsAndUpdatesInBatches() {
+        Character existing = repo.save(character("Arthur_Hero", Job.WARRIOR));
+        Character fresh = character("Robin_Thief", Job.THIEF);
+
+        repo.saveAll(List.of(existing.withLifePoints(2, true), fresh));
+
+        assertEquals(2, repo.findById(existing.getId()).orElseThrow().getCurrentLifePoints());
+        assertEquals(1, repo.findById(existing.getId()).orElseThrow().getVersion());
+        assertEquals(0, repo.findById(fresh.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void findAllWalksEveryPage() {
+        List<Character> batch = new ArrayList<>();
+        for (int i = 0; i < JpaCharacterRepository.PAGE_SIZE * 2 + 5; i++) {
+            batch.add(character("Npc_Name", Job.THIEF));
+        }
+        repo.saveAll(batch);
+
+        List<Character> all = repo.findAll();
+
+        assertEquals(batch.size(), all.size());
+        Set<UUID> ids = new HashSet<>();
+        all.forEach(c -> ids.add(c.getId()));
+        assertEquals(batch.size(), ids.size());
+
+        List<Character> first = repo.findPage(null, 10);
+        List<Character> second = repo.findPage(first.get(9).getId(), 10);
+        assertEquals(10, second.size());
+        assertFalse(first.stream().anyMatch(c -> second.stream().anyMatch(o -> o.getId().equals(c.getId()))));
+    }
+
+    @Test
+    void countAndPageApplyFiltersInSql() {
+        Character mage = repo.save(character("Magey_One", Job.MAGE));
+        repo.save(character("Magey_Two", Job.MAGE));
+        repo.save(character("Arthur_Hero", Job.WARRIOR));
+        assertTrue(repo.compareAndSet(0, mage.withLifePoints(0, false)));
+
+        CharacterQuery aliveMages = CharacterQuery.builder().job(Job.MAGE).alive(true).build();
+        assertEquals(1, repo.count(aliveMages));
+        assertEquals(1, repo.count(CharacterQuery.builder().alive(false).build()));
+        assertEquals(3, repo.count(CharacterQuery.ALL));
+        assertEquals(1, repo.findPage(aliveMages, null, 10).size());
+    }
+}
@@ -0,0 +1,81 @@
+package com.drapala.rpg.repository;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveCharacterRepositoryTests {
+    private final AtomicInteger pageReads = new AtomicInteger();
+    private final InMemoryCharacterRepository store = new InMemoryCharacterRepository() {
+        @Override
+        public List<Character> findPage(CharacterQuery query, UUID after, int limit) {
+            pageReads.incrementAndGet();
+            return super.findPage(query, after, limit);
+        }
+    };
+    private final ReactiveCharacterRepository reactive = new ReactiveCharacterRepository(store, Schedulers.immediate());
+
+    private List<UUID> seed(int count) {
+        for (int i = 0; i < count; i++) {
+            store.save(Character.builder()
+                    .id(UUID.randomUUID())
+                    .name("Reactive_Hero")
+                    .job(i % 2 == 0 ? Job.WARRIOR : Job.MAGE)
+                    .stats(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build())
+                    .build());
+        }
+        return store.findAll().stream().map(Character::getId).sorted().toList();
+    }
+
+    @Test
+    void findAllEmitsEveryMatchInIdOrder() {
+        List<UUID> ids = seed(10);
+        StepVerifier.create(reactive.findAll(CharacterQuery.ALL, null, 3).map(Character::getId).collectList())
+                .assertNext(found -> assertEquals(ids, found))
+                .verifyComplete();
+        // 3 + 3 + 3 + 1: the short last page ends the scan without another read
+        assertEquals(4, pageReads.get());
+
+        List<UUID> magesAfterCursor = ids.subList(5, ids.size()).stream()
+                .filter(id -> store.findById(id).orElseThrow().getJob() == Job.MAGE)
+                .toList();
+        StepVerifier.create(reactive.findAll(CharacterQuery.builder().job(Job.MAGE).build(), ids.get(4), 2)
+                        .map(Character::getId).collectList())
+                .assertNext(found -> assertEquals(magesAfterCursor, found))
+                .verifyComplete();
+    }
+
+    @Test
+    void pagesAreReadOnlyAsTheSubscriberAsks() {
+        seed(100);
+        StepVerifier.create(reactive.findAll(CharacterQuery.ALL, null, 10), 0)
+                .expectSubscription()
+                .then(() -> assertTrue(pageReads.get() <= 1))
+                .thenRequest(5)
+                .expectNextCount(5)
+                .then(() -> assertTrue(pageReads.get() <= 1, "read " + pageReads.get() + " pages for 5 characters"))
+                .thenRequest(20)
+                .expectNextCount(20)
+                .then(() -> assertTrue(pageReads.get() <= 4, "read " + pageReads.get() + " pages for 25 characters"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void lookupsAndCounts() {
+        List<UUID> ids = seed(4);
+        StepVerifier.create(reactive.findById(ids.get(0))).assertNext(c -> assertEquals(ids.get(0), c.getId())).verifyComplete();
+        StepVerifier.create(reactive.findById(UUID.randomUUID())).verifyComplete();
+        StepVerifier.create(reactive.count(CharacterQuery.builder().job(Job.WARRIOR).build())).expectNext(2L).verifyComplete();
+        assertThrows(IllegalArgumentException.class, () -> reactive.findAll(CharacterQuery.ALL, null, 0));
+    }
+}
@@ -0,0 +1,99 @@
+package com.drapala.rpg.repository;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindCharacterRepositoryTests {
+
+    /** Durable stand-in that records every batch it receives. */
+    private static class RecordingRepository extends InMemoryCharacterRepository {
+        final List<Integer> batches = new ArrayList<>();
+
+        @Override
+        public void saveAll(Collection<Character> characters) {
+            batches.add(characters.size());
+            super.saveAll(characters);
+        }
+    }
+
+    private static Character character(String name) {
+        return Character.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .job(Job.WARRIOR)
+                .stats(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build())
+                .build();
+    }
+
+    @Test
+    void repeatedSavesCoalesceIntoOneWrite() {
+        RecordingRepository durable = new RecordingRepository();
+        WriteBehindCharacterRepository repo = new WriteBehindCharacterRepository(durable, 60_000, 100, new SimpleMeterRegistry());
+        Character c = repo.save(character("Arthur_Hero"));
+        c = repo.save(c.withLifePoints(15, true));
+        assertTrue(repo.compareAndSet(c.getVersion(), c.withLifePoints(9, true)));
+
+        assertEquals(9, repo.findById(c.getId()).orElseThrow().getCurrentLifePoints());
+        assertTrue(durable.findById(c.getId()).isEmpty());
+        assertEquals(1, repo.pendingCount());
+
+        repo.flush();
+
+        assertEquals(List.of(1), durable.batches);
+        assertEquals(9, durable.findById(c.getId()).orElseThrow().getCurrentLifePoints());
+        assertEquals(0, repo.pendingCount());
+        repo.close();
+    }
+
+    @Test
+    void flushSplitsIntoConfiguredBatchSize() {
+        RecordingRepository durable = new RecordingRepository();
+        WriteBehindCharacterRepository repo = new WriteBehindCharacterRepository(durable, 60_000, 10, null);
+        for (int i = 0; i < 25; i++) {
+            repo.save(character("Npc_Name"));
+        }
+
+        repo.close();
+
+        assertEquals(25, durable.findAll().size());
+        assertEquals(25, durable.batches.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(durable.batches.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    void closeDrainsPendingWrites() {
+        RecordingRepository durable = new RecordingRepository();
+        WriteBehindCharacterRepository repo = new WriteBehindCharacterRepository(durable, 60_000, 100, null);
+        Character a = repo.save(character("Arthur_Hero"));
+        Character d = repo.save(character("Merlin_Mage"));
+        assertTrue(repo.compareAndSetBoth(a, a.withLifePoints(4, true), d, d.withLifePoints(0, false)));
+
+        repo.close();
+
+        assertEquals(0, repo.pendingCount());
+        assertEquals(4, durable.findById(a.getId()).orElseThrow().getCurrentLifePoints());
+        assertFalse(durable.findById(d.getId()).orElseThrow().isAlive());
+    }
+
+    @Test
+    void startsFromDurableState() {
+        RecordingRepository durable = new RecordingRepository();
+        Character stored = durable.save(character("Arthur_Hero"));
+
+        WriteBehindCharacterRepository repo = new WriteBehindCharacterRepository(durable, 60_000, 100, null);
+
+        assertTrue(repo.findById(stored.getId()).isPresent());
+        assertEquals(0, repo.pendingCount());
+        repo.close();
+    }
+}
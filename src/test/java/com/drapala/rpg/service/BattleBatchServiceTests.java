@@ -0,0 +1,83 @@
+package com.drapala.rpg.service;
+
+import com.drapala.rpg.dto.BattleBatchItem;
+import com.drapala.rpg.dto.BattleBatchResponse;
+import com.drapala.rpg.dto.BattleRequest;
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.stats.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleBatchServiceTests {
+
+    private final InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+    private final StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+    private final CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver);
+    private final BattleBatchService batch = new BattleBatchService(
+            new BattleService(repo, resolver, new SimpleMeterRegistry()), new SimpleAsyncTaskExecutor());
+
+    private UUID create(String name, Job job) {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(job);
+        return UUID.fromString(characters.create(req).getId());
+    }
+
+    private static BattleRequest pair(UUID attacker, UUID defender) {
+        BattleRequest req = new BattleRequest();
+        req.setAttackerId(attacker);
+        req.setDefenderId(defender);
+        req.setIncludeLog(false);
+        return req;
+    }
+
+    @Test
+    void pairsSharingACharacterFormOneChainInRequestOrder() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        UUID d = UUID.randomUUID();
+        UUID e = UUID.randomUUID();
+
+        List<int[]> chains = BattleBatchService.chains(List.of(pair(a, b), pair(d, e), pair(c, b), pair(a, c)));
+
+        assertEquals(2, chains.size());
+        assertArrayEquals(new int[]{0, 2, 3}, chains.get(0));
+        assertArrayEquals(new int[]{1}, chains.get(1));
+    }
+
+    @Test
+    void errorsAreReportedPerItem() {
+        UUID warrior = create("Arthur_Hero", Job.WARRIOR);
+        UUID thief = create("Shadow_Thief", Job.THIEF);
+        UUID mage = create("Merlin_Wise", Job.MAGE);
+        UUID other = create("Other_Mage", Job.MAGE);
+
+        BattleBatchResponse res = batch.battle(List.of(
+                pair(warrior, thief),
+                pair(mage, UUID.randomUUID()),
+                pair(other, other),
+                pair(warrior, thief)));
+
+        List<BattleBatchItem> results = res.getResults();
+        assertEquals(4, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertEquals("OK", results.get(0).getStatus());
+        assertNotNull(results.get(0).getResult());
+        assertEquals("NOT_FOUND", results.get(1).getStatus());
+        assertEquals("CONFLICT", results.get(2).getStatus());
+        // The rematch runs after the first battle, which always leaves one of them dead
+        assertEquals("CONFLICT", results.get(3).getStatus());
+        assertEquals("Both characters must be alive to battle", results.get(3).getError().getMessage());
+    }
+}
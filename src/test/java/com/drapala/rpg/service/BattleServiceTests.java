@@ -1,5 +1,6 @@
 package com.drapala.rpg.service;
 
+import com.drapala.rpg.dto.BattleEvent;
 import com.drapala.rpg.dto.BattleRequest;
 import com.drapala.rpg.dto.BattleResponse;
 import com.drapala.rpg.dto.CreateCharacterRequest;
@@ -7,29 +8,41 @@ import com.drapala.rpg.model.Character;
 import com.drapala.rpg.model.Job;
 import com.drapala.rpg.repository.CharacterRepository;
 import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.battle.CombatLog;
+import com.drapala.rpg.service.journal.BattleJournal;
+import com.drapala.rpg.service.lock.CharacterLocks;
 import com.drapala.rpg.service.stats.*;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class BattleServiceTests {
+    private static final Job[] JOBS = {Job.WARRIOR, Job.THIEF, Job.MAGE};
 
     private CharacterService newCharacterService(InMemoryCharacterRepository repo) {
         StatsFactory statsFactory = new StatsFactory();
-        StatsCalculatorResolver resolver = new StatsCalculatorResolver(new WarriorStatsCalculator(), new ThiefStatsCalculator(), new MageStatsCalculator());
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
         return new CharacterService(repo, statsFactory, resolver);
     }
 
     private BattleService newBattleService(InMemoryCharacterRepository repo) {
-        StatsCalculatorResolver resolver = new StatsCalculatorResolver(new WarriorStatsCalculator(), new ThiefStatsCalculator(), new MageStatsCalculator());
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
         return new BattleService(repo, resolver, new SimpleMeterRegistry());
     }
 
@@ -66,11 +79,7 @@ class BattleServiceTests {
         CharacterService characters = newCharacterService(repo);
 
         // Criar um BattleService mockado para controlar o random
-        StatsCalculatorResolver resolver = new StatsCalculatorResolver(
-            new WarriorStatsCalculator(),
-            new ThiefStatsCalculator(),
-            new MageStatsCalculator()
-        );
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
 
         // Criar dois guerreiros para ter stats previsíveis
         CreateCharacterRequest w1 = new CreateCharacterRequest();
@@ -114,11 +123,7 @@ class BattleServiceTests {
         InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
         CharacterService characters = newCharacterService(repo);
 
-        StatsCalculatorResolver resolver = new StatsCalculatorResolver(
-            new WarriorStatsCalculator(),
-            new ThiefStatsCalculator(),
-            new MageStatsCalculator()
-        );
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
 
         // Criar um mago (alto ataque) vs thief (vida menor)
         CreateCharacterRequest m = new CreateCharacterRequest();
@@ -159,6 +164,38 @@ class BattleServiceTests {
         assertTrue(hasWinLog);
     }
 
+    @Test
+    void battleLogIsOnlyRenderedWhenRequested() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        CharacterService characters = newCharacterService(repo);
+        BattleService battle = newBattleService(repo);
+
+        CreateCharacterRequest a = new CreateCharacterRequest();
+        a.setName("Quiet_Mage");
+        a.setJob(Job.MAGE);
+        var attacker = characters.create(a);
+
+        CreateCharacterRequest d = new CreateCharacterRequest();
+        d.setName("Quiet_Thief");
+        d.setJob(Job.THIEF);
+        var defender = characters.create(d);
+
+        BattleRequest req = new BattleRequest();
+        req.setAttackerId(UUID.fromString(attacker.getId()));
+        req.setDefenderId(UUID.fromString(defender.getId()));
+        req.setIncludeLog(false);
+
+        BattleResponse res = battle.battle(req);
+
+        assertNull(res.getBattleLog());
+        Character loser = repo.findById(UUID.fromString(res.getLoserId())).orElseThrow();
+        Character winner = repo.findById(UUID.fromString(res.getWinnerId())).orElseThrow();
+        assertFalse(loser.isAlive());
+        assertEquals(0, loser.getCurrentLifePoints());
+        assertTrue(winner.isAlive());
+        assertTrue(winner.getCurrentLifePoints() > 0);
+    }
+
     @Test
     void testBattleBetweenSameCharacterThrowsException() {
         InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
@@ -196,9 +233,7 @@ class BattleServiceTests {
 
         // Simular personagem morto
         Character deadCharacter = repo.findById(UUID.fromString(deadChar.getId())).get();
-        deadCharacter.setCurrentLifePoints(0);
-        deadCharacter.setAlive(false);
-        repo.save(deadCharacter);
+        repo.save(deadCharacter.withLifePoints(0, false));
 
         BattleService battle = newBattleService(repo);
         BattleRequest req = new BattleRequest();
@@ -208,4 +243,179 @@ class BattleServiceTests {
         assertThrows(IllegalStateException.class, () -> battle.battle(req),
             "Both characters must be alive to battle");
     }
+
+    @Test
+    void concurrentBattlesKeepCharacterStateConsistent() throws Exception {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        CharacterService characters = newCharacterService(repo);
+        BattleService battle = newBattleService(repo);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            CreateCharacterRequest req = new CreateCharacterRequest();
+            req.setName("Fighter_" + (char) ('A' + i % 26));
+            req.setJob(JOBS[i % JOBS.length]);
+            ids.add(UUID.fromString(characters.create(req).getId()));
+        }
+
+        AtomicInteger completed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    UUID a = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    UUID d = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    BattleRequest req = new BattleRequest();
+                    req.setAttackerId(a);
+                    req.setDefenderId(d);
+                    try {
+                        battle.battle(req);
+                        completed.incrementAndGet();
+                    } catch (IllegalStateException expected) {
+                        // dead participant or same character
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        int dead = 0;
+        for (UUID id : ids) {
+            Character c = repo.findById(id).orElseThrow();
+            if (c.isAlive()) {
+                assertTrue(c.getCurrentLifePoints() > 0, "alive character must have HP");
+            } else {
+                assertEquals(0, c.getCurrentLifePoints(), "dead character must have no HP");
+                dead++;
+            }
+        }
+        // Every completed battle kills exactly one participant
+        assertEquals(completed.get(), dead);
+    }
+
+    private BattleService minimumDamageBattleService(InMemoryCharacterRepository repo) {
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+        return new BattleService(repo, resolver, new SimpleMeterRegistry()) {
+            @Override
+            protected int calculateDamage(int attack) {
+                return attack / 2;
+            }
+        };
+    }
+
+    private static BattleRequest request(String attackerId, String defenderId) {
+        BattleRequest req = new BattleRequest();
+        req.setAttackerId(UUID.fromString(attackerId));
+        req.setDefenderId(UUID.fromString(defenderId));
+        return req;
+    }
+
+    private static String create(CharacterService characters, String name, Job job) {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(job);
+        return characters.create(req).getId();
+    }
+
+    @Test
+    void streamedBattleMatchesTheBattleLogAndCommitsAfterTheLastHit() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        CharacterService characters = newCharacterService(repo);
+        BattleService battle = minimumDamageBattleService(repo);
+
+        BattleResponse reference = battle.battle(request(create(characters, "Stream_Knight", Job.WARRIOR),
+                create(characters, "Stream_Wizard", Job.MAGE)));
+        String attacker = create(characters, "Stream_Knight", Job.WARRIOR);
+        String defender = create(characters, "Stream_Wizard", Job.MAGE);
+
+        Iterator<BattleEvent> events = battle.stream(request(attacker, defender));
+        List<BattleEvent> seen = new ArrayList<>();
+        while (events.hasNext()) {
+            BattleEvent event = events.next();
+            if (event.getType() == BattleEvent.Type.HIT && event.getRemainingHp() == 0) {
+                // The killing blow is out, but nothing is stored until the stream ends
+                assertTrue(repo.findById(UUID.fromString(attacker)).orElseThrow().isAlive());
+                assertTrue(repo.findById(UUID.fromString(defender)).orElseThrow().isAlive());
+            }
+            seen.add(event);
+        }
+        assertThrows(NoSuchElementException.class, events::next);
+
+        assertEquals(reference.getBattleLog(), seen.stream().map(BattleEvent::getMessage).toList());
+        assertEquals(BattleEvent.Type.START, seen.get(0).getType());
+        assertEquals(1, seen.get(1).getHit());
+        BattleEvent end = seen.get(seen.size() - 1);
+        assertEquals(BattleEvent.Type.END, end.getType());
+        assertFalse(repo.findById(UUID.fromString(end.getLoserId())).orElseThrow().isAlive());
+        assertTrue(repo.findById(UUID.fromString(end.getWinnerId())).orElseThrow().isAlive());
+    }
+
+    @Test
+    void streamEndsWithAConflictWhenACharacterChangesMidFight() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        CharacterService characters = newCharacterService(repo);
+        BattleService battle = minimumDamageBattleService(repo);
+        String attacker = create(characters, "Slow_Viewer", Job.WARRIOR);
+        String defender = create(characters, "Busy_Fighter", Job.WARRIOR);
+
+        Iterator<BattleEvent> events = battle.stream(request(attacker, defender));
+        assertEquals(BattleEvent.Type.START, events.next().getType());
+        Character busy = repo.findById(UUID.fromString(defender)).orElseThrow();
+        assertTrue(repo.compareAndSet(busy.getVersion(), busy.withLifePoints(busy.getCurrentLifePoints() - 1, true)));
+
+        BattleEvent last = null;
+        while (events.hasNext()) {
+            last = events.next();
+        }
+        assertEquals(BattleEvent.Type.ERROR, last.getType());
+        assertEquals("CONFLICT", last.getCode());
+        assertTrue(repo.findById(UUID.fromString(attacker)).orElseThrow().isAlive());
+        assertTrue(repo.findById(UUID.fromString(defender)).orElseThrow().isAlive());
+    }
+
+    @Test
+    void streamChecksParticipantsBeforeTheFirstEvent() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        CharacterService characters = newCharacterService(repo);
+        BattleService battle = newBattleService(repo);
+        String hero = create(characters, "Stream_Hero", Job.THIEF);
+        String ghost = create(characters, "Stream_Ghost", Job.MAGE);
+        Character g = repo.findById(UUID.fromString(ghost)).orElseThrow();
+        repo.save(g.withLifePoints(0, false));
+
+        assertThrows(IllegalStateException.class, () -> battle.stream(request(hero, hero)));
+        assertThrows(IllegalStateException.class, () -> battle.stream(request(hero, ghost)));
+        assertThrows(NoSuchElementException.class, () -> battle.stream(request(hero, UUID.randomUUID().toString())));
+    }
+
+    @Test
+    void failedJournalAppendCommitsNothing() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        CharacterService characters = newCharacterService(repo);
+        String attacker = create(characters, "Journal_Hero", Job.WARRIOR);
+        String defender = create(characters, "Journal_Foe", Job.THIEF);
+        BattleJournal failing = new BattleJournal() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public void battle(UUID battleId, Character a, Character d, CombatLog combat, int outcome) {
+                throw new IllegalStateException("Journal record larger than a segment");
+            }
+        };
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+        BattleService battle = new BattleService(repo, resolver, new SimpleMeterRegistry(),
+                new CharacterLocks(CharacterLocks.DEFAULT_STRIPES, null), failing);
+
+        assertThrows(IllegalStateException.class, () -> battle.battle(request(attacker, defender)));
+
+        for (String id : List.of(attacker, defender)) {
+            Character stored = repo.findById(UUID.fromString(id)).orElseThrow();
+            assertEquals(0, stored.getVersion());
+            assertTrue(stored.isAlive());
+        }
+    }
 }
@@ -1,13 +1,22 @@
 package com.drapala.rpg.service;
 
+import com.drapala.rpg.dto.CharacterPage;
 import com.drapala.rpg.dto.CharacterResponse;
 import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.model.Character;
 import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.CharacterQuery;
 import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.journal.BattleJournal;
 import com.drapala.rpg.service.stats.*;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,7 +26,7 @@ class CharacterServiceTests {
     private CharacterService newService() {
         InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
         StatsFactory statsFactory = new StatsFactory();
-        StatsCalculatorResolver resolver = new StatsCalculatorResolver(new WarriorStatsCalculator(), new ThiefStatsCalculator(), new MageStatsCalculator());
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
         return new CharacterService(repo, statsFactory, resolver);
     }
 
@@ -37,6 +46,25 @@ class CharacterServiceTests {
         assertEquals(created.getId(), fetched.getId());
     }
 
+    @Test
+    void failedJournalAppendStoresNothing() {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+        BattleJournal failing = new BattleJournal() {
+            @Override
+            public void characterCreated(Character character) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        };
+        CharacterService svc = new CharacterService(repo, new StatsFactory(), resolver, failing);
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName("Lost_Hero");
+        req.setJob(Job.WARRIOR);
+
+        assertThrows(UncheckedIOException.class, () -> svc.create(req));
+        assertEquals(0, repo.count(CharacterQuery.builder().build()));
+    }
+
     @Test
     void listCharacters() {
         CharacterService svc = newService();
@@ -44,8 +72,35 @@ class CharacterServiceTests {
         req.setName("Magey");
         req.setJob(Job.MAGE);
         svc.create(req);
-        List<CharacterResponse> all = svc.list();
+        List<CharacterResponse> all = svc.page(CharacterQuery.ALL, null, 100).getItems();
         assertFalse(all.isEmpty());
     }
-}
 
+    @Test
+    void pagesFollowTheCursorUntilExhausted() {
+        CharacterService svc = newService();
+        for (int i = 0; i < 7; i++) {
+            CreateCharacterRequest req = new CreateCharacterRequest();
+            req.setName("Paged_Hero");
+            req.setJob(i % 2 == 0 ? Job.MAGE : Job.THIEF);
+            svc.create(req);
+        }
+        CharacterQuery mages = CharacterQuery.builder().job(Job.MAGE).alive(true).build();
+
+        Set<String> seen = new HashSet<>();
+        CharacterPage page = svc.page(mages, null, 3);
+        page.getItems().forEach(c -> seen.add(c.getId()));
+        assertNotNull(page.getNextCursor());
+        page = svc.page(mages, UUID.fromString(page.getNextCursor()), 3);
+        page.getItems().forEach(c -> seen.add(c.getId()));
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertEquals(4, seen.size());
+
+        List<CharacterResponse> streamed = new ArrayList<>();
+        svc.stream(CharacterQuery.builder().job(Job.THIEF).build(), streamed::add);
+        assertEquals(3, streamed.size());
+        assertTrue(streamed.stream().allMatch(c -> c.getJob() == Job.THIEF));
+    }
+}
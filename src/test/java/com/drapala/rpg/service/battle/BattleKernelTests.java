@@ -0,0 +1,49 @@
+package com.drapala.rpg.service.battle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleKernelTests {
+
+    @Test
+    void fasterSideStrikesFirstAndHitsAreRecorded() {
+        CombatLog log = new CombatLog();
+        // Damage equals attack: the defender (12 HP, 7 attack) strikes first against 15 HP / 5 attack
+        int outcome = BattleKernel.fight(CombatLog.DEFENDER, 12, 7, 15, 5, attack -> attack, log);
+
+        assertEquals(CombatLog.DEFENDER, BattleKernel.winner(outcome));
+        assertEquals(2, BattleKernel.winnerHp(outcome));
+        assertEquals(5, log.hits());
+        assertEquals(CombatLog.DEFENDER, log.side(0));
+        assertEquals(7, log.damage(0));
+        assertEquals(8, log.remainingHp(0));
+        assertEquals(CombatLog.ATTACKER, log.side(1));
+        assertEquals(5, log.damage(1));
+        assertEquals(7, log.remainingHp(1));
+        assertEquals(0, log.remainingHp(4));
+    }
+
+    @Test
+    void logIsOptional() {
+        int outcome = BattleKernel.fight(CombatLog.ATTACKER, 20, 9, 15, 11, attack -> attack, null);
+        assertEquals(CombatLog.ATTACKER, BattleKernel.winner(outcome));
+        assertEquals(9, BattleKernel.winnerHp(outcome));
+    }
+
+    @Test
+    void combatLogGrowsAndResets() {
+        CombatLog log = new CombatLog();
+        for (int i = 0; i < 10_000; i++) {
+            log.record(i & 1, i, 10_000 - i);
+        }
+        assertEquals(10_000, log.hits());
+        assertEquals(9_999, log.damage(9_999));
+        assertEquals(1, log.remainingHp(9_999));
+
+        log.reset();
+        assertEquals(0, log.hits());
+        log.record(CombatLog.ATTACKER, 3, 4);
+        assertEquals(3, log.damage(0));
+    }
+}
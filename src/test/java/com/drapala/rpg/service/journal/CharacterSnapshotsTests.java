@@ -0,0 +1,191 @@
+package com.drapala.rpg.service.journal;
+
+import com.drapala.rpg.dto.BattleRequest;
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.BattleService;
+import com.drapala.rpg.service.CharacterService;
+import com.drapala.rpg.service.lock.CharacterLocks;
+import com.drapala.rpg.service.stats.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharacterSnapshotsTests {
+
+    @TempDir
+    Path dir;
+
+    private final StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+
+    private static UUID create(CharacterService characters, String name) {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(Job.MAGE);
+        return UUID.fromString(characters.create(req).getId());
+    }
+
+    @Test
+    void snapshotPlusJournalTailRestoresEveryChange() throws IOException {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        MappedBattleJournal journal = new MappedBattleJournal(dir.resolve("journal"), 4096, 50);
+        CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver, journal);
+        CharacterSnapshots snapshots = new CharacterSnapshots(dir.resolve("snapshots"), 2);
+        for (int i = 0; i < 100; i++) {
+            create(characters, "Early_Bird");
+        }
+        snapshots.snapshot(repo, journal);
+        UUID late = create(characters, "Late_Comer");
+        journal.close();
+
+        InMemoryCharacterRepository rebuilt = new InMemoryCharacterRepository();
+        long from = snapshots.restoreLatest(rebuilt);
+        assertEquals(100, rebuilt.findAll().size());
+        MappedBattleJournal reopened = new MappedBattleJournal(dir.resolve("journal"), 4096, 50);
+        assertEquals(1, reopened.replay(from, rebuilt));
+        reopened.close();
+
+        assertEquals(101, rebuilt.findAll().size());
+        Character original = repo.findById(late).orElseThrow();
+        Character restored = rebuilt.findById(late).orElseThrow();
+        assertEquals(original.getName(), restored.getName());
+        assertEquals(original.getStats(), restored.getStats());
+        assertEquals(original.getVersion(), restored.getVersion());
+        snapshots.close();
+    }
+
+    @Test
+    void snapshotsDropJournalSegmentsTheyNoLongerNeed() throws IOException {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        MappedBattleJournal journal = new MappedBattleJournal(dir.resolve("journal"), 512, 50);
+        CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver, journal);
+        CharacterSnapshots snapshots = new CharacterSnapshots(dir.resolve("snapshots"), 1);
+        for (int i = 0; i < 30; i++) {
+            create(characters, "Npc_Name");
+        }
+
+        snapshots.snapshot(repo, journal);
+        snapshots.snapshot(repo, journal);
+
+        try (Stream<Path> files = Files.list(dir.resolve("snapshots"))) {
+            assertEquals(1, files.count());
+        }
+        try (Stream<Path> files = Files.list(dir.resolve("journal"))) {
+            assertEquals(1, files.count());
+        }
+        InMemoryCharacterRepository rebuilt = new InMemoryCharacterRepository();
+        long from = snapshots.restoreLatest(rebuilt);
+        assertEquals(0, journal.replay(from, rebuilt));
+        assertEquals(30, rebuilt.findAll().size());
+        journal.close();
+        snapshots.close();
+    }
+
+    @Test
+    void snapshotTakenMidCommitKeepsTheBattleAfterRestore() throws Exception {
+        AtomicBoolean gated = new AtomicBoolean();
+        CountDownLatch journaled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Holds a battle between its journal append and its store update
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository() {
+            @Override
+            public boolean compareAndSetBoth(Character first, Character firstAfter, Character second, Character secondAfter) {
+                if (gated.get()) {
+                    journaled.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.compareAndSetBoth(first, firstAfter, second, secondAfter);
+            }
+        };
+        CharacterLocks locks = new CharacterLocks(CharacterLocks.DEFAULT_STRIPES, null);
+        MappedBattleJournal journal = new MappedBattleJournal(dir.resolve("journal"), 4096, 50);
+        CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver, journal, null, locks);
+        BattleService battles = new BattleService(repo, resolver, new SimpleMeterRegistry(), locks, journal);
+        CharacterSnapshots snapshots = new CharacterSnapshots(dir.resolve("snapshots"), 2, JobRegistry.defaults(), locks);
+        UUID attacker = create(characters, "Gated_Hero");
+        UUID defender = create(characters, "Gated_Foe");
+        BattleRequest request = new BattleRequest();
+        request.setAttackerId(attacker);
+        request.setDefenderId(defender);
+
+        gated.set(true);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> battle = pool.submit(() -> battles.battle(request));
+            assertTrue(journaled.await(10, TimeUnit.SECONDS));
+            Future<?> snapshot = pool.submit(() -> {
+                snapshots.snapshot(repo, journal);
+                return null;
+            });
+            try {
+                snapshot.get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException expected) {
+                // Waiting for the battle to reach the store
+            }
+            release.countDown();
+            battle.get(10, TimeUnit.SECONDS);
+            snapshot.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+        journal.close();
+
+        InMemoryCharacterRepository rebuilt = new InMemoryCharacterRepository();
+        long from = snapshots.restoreLatest(rebuilt);
+        MappedBattleJournal reopened = new MappedBattleJournal(dir.resolve("journal"), 4096, 50);
+        reopened.replay(from, rebuilt);
+        reopened.close();
+        for (UUID id : List.of(attacker, defender)) {
+            Character live = repo.findById(id).orElseThrow();
+            Character restored = rebuilt.findById(id).orElseThrow();
+            assertEquals(1, live.getVersion());
+            assertEquals(live.getVersion(), restored.getVersion());
+            assertEquals(live.getCurrentLifePoints(), restored.getCurrentLifePoints());
+            assertEquals(live.isAlive(), restored.isAlive());
+        }
+        snapshots.close();
+    }
+
+    @Test
+    void damagedSnapshotFallsBackToOlderOne() throws IOException {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver);
+        CharacterSnapshots snapshots = new CharacterSnapshots(dir, 2);
+        create(characters, "First_One");
+        snapshots.write(repo, 10);
+        create(characters, "Second_One");
+        Path newest = snapshots.write(repo, 20);
+        byte[] bytes = Files.readAllBytes(newest);
+        bytes[20] ^= 0x7F;
+        Files.write(newest, bytes);
+
+        InMemoryCharacterRepository rebuilt = new InMemoryCharacterRepository();
+
+        assertEquals(10, snapshots.restoreLatest(rebuilt));
+        assertEquals(1, rebuilt.findAll().size());
+        snapshots.close();
+    }
+}
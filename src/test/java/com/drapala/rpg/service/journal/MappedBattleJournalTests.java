@@ -0,0 +1,147 @@
+package com.drapala.rpg.service.journal;
+
+import com.drapala.rpg.dto.BattleRequest;
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.BattleService;
+import com.drapala.rpg.service.CharacterService;
+import com.drapala.rpg.service.lock.CharacterLocks;
+import com.drapala.rpg.service.stats.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedBattleJournalTests {
+
+    @TempDir
+    Path dir;
+
+    private final StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+
+    private UUID create(CharacterService characters, String name, Job job) {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(job);
+        return UUID.fromString(characters.create(req).getId());
+    }
+
+    private void fight(BattleService battles, UUID attacker, UUID defender) {
+        BattleRequest req = new BattleRequest();
+        req.setAttackerId(attacker);
+        req.setDefenderId(defender);
+        req.setIncludeLog(false);
+        battles.battle(req);
+    }
+
+    @Test
+    void replayRebuildsCharactersAndBattleOutcomes() throws IOException {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        MappedBattleJournal journal = new MappedBattleJournal(dir, 1 << 20, 50);
+        CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver, journal);
+        BattleService battles = new BattleService(repo, resolver, new SimpleMeterRegistry(),
+                new CharacterLocks(CharacterLocks.DEFAULT_STRIPES, null), journal);
+        UUID a = create(characters, "Arthur_Hero", Job.WARRIOR);
+        UUID b = create(characters, "Shadow_Thief", Job.THIEF);
+        UUID c = create(characters, "Merlin_Mage", Job.MAGE);
+        fight(battles, a, b);
+        UUID survivor = repo.findById(a).orElseThrow().isAlive() ? a : b;
+        fight(battles, survivor, c);
+        journal.close();
+
+        InMemoryCharacterRepository rebuilt = new InMemoryCharacterRepository();
+        long records = replay(1 << 20, rebuilt);
+
+        assertEquals(5, records);
+        for (UUID id : List.of(a, b, c)) {
+            Character original = repo.findById(id).orElseThrow();
+            Character restored = rebuilt.findById(id).orElseThrow();
+            assertEquals(original.getName(), restored.getName());
+            assertEquals(original.getJob(), restored.getJob());
+            assertEquals(original.getStats(), restored.getStats());
+            assertEquals(original.getCurrentLifePoints(), restored.getCurrentLifePoints());
+            assertEquals(original.isAlive(), restored.isAlive());
+            assertEquals(original.getVersion(), restored.getVersion());
+        }
+    }
+
+    @Test
+    void appendsRollOverIntoNewSegmentsAndContinueAfterReopen() throws IOException {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        MappedBattleJournal journal = new MappedBattleJournal(dir, 512, 50);
+        CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver, journal);
+        for (int i = 0; i < 20; i++) {
+            create(characters, "Npc_Name", Job.THIEF);
+        }
+        long position = journal.position();
+        journal.close();
+
+        MappedBattleJournal reopened = new MappedBattleJournal(dir, 512, 50);
+        assertEquals(position, reopened.position());
+        new CharacterService(repo, new StatsFactory(), resolver, reopened).create(request("Late_Entry"));
+        reopened.close();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.count() > 1);
+        }
+        InMemoryCharacterRepository rebuilt = new InMemoryCharacterRepository();
+        assertEquals(21, replay(512, rebuilt));
+        assertEquals(21, rebuilt.findAll().size());
+    }
+
+    @Test
+    void replayStopsAtCorruptedRecord() throws IOException {
+        InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+        MappedBattleJournal journal = new MappedBattleJournal(dir, 1 << 20, 50);
+        CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver, journal);
+        create(characters, "Arthur_Hero", Job.WARRIOR);
+        long second = journal.position();
+        create(characters, "Shadow_Thief", Job.THIEF);
+        create(characters, "Merlin_Mage", Job.MAGE);
+        journal.close();
+
+        // Flip a payload byte of the second record so its checksum no longer matches
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            ch.read(b, second + 12);
+            b.put(0, (byte) ~b.get(0));
+            ch.write(b.rewind(), second + 12);
+        }
+
+        InMemoryCharacterRepository rebuilt = new InMemoryCharacterRepository();
+        assertEquals(1, replay(1 << 20, rebuilt));
+    }
+
+    private long replay(int segmentSize, InMemoryCharacterRepository into) throws IOException {
+        MappedBattleJournal journal = new MappedBattleJournal(dir, segmentSize, 50);
+        try {
+            return journal.replay(0, into);
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static CreateCharacterRequest request(String name) {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(Job.MAGE);
+        return req;
+    }
+}
@@ -0,0 +1,62 @@
+package com.drapala.rpg.service.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharacterLocksTests {
+
+    @Test
+    void stripeCountIsRoundedUpToPowerOfTwo() {
+        CharacterLocks locks = new CharacterLocks(48, new SimpleMeterRegistry());
+        assertEquals(64, locks.stripeCount());
+        UUID id = UUID.randomUUID();
+        assertEquals(locks.stripeOf(id), locks.stripeOf(UUID.fromString(id.toString())));
+    }
+
+    @Test
+    void sameStripeIsLockedOnlyOnce() {
+        CharacterLocks locks = new CharacterLocks(1, new SimpleMeterRegistry());
+        String result = locks.withBoth(UUID.randomUUID(), UUID.randomUUID(), () -> "done");
+        assertEquals("done", result);
+    }
+
+    @Test
+    void contendedStripeIsCounted() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CharacterLocks locks = new CharacterLocks(1, registry);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> locks.withBoth(a, b, () -> {
+            held.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        Thread waiter = new Thread(() -> locks.withBoth(b, a, () -> null));
+        waiter.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.counter("battle.lock.contention", "stripe", "0").count() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        holder.join(5000);
+        waiter.join(5000);
+
+        assertEquals(1.0, registry.counter("battle.lock.contention", "stripe", "0").count());
+    }
+}
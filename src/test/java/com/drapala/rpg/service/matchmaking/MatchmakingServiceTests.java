@@ -0,0 +1,69 @@
+package com.drapala.rpg.service.matchmaking;
+
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.CharacterQuery;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.BattleBatchService;
+import com.drapala.rpg.service.BattleService;
+import com.drapala.rpg.service.CharacterService;
+import com.drapala.rpg.service.stats.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakingServiceTests {
+    private final InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+    private final StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+    private final CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MatchmakingService matchmaking = new MatchmakingService(repo, new PowerRatingIndex(repo, resolver, null),
+            new BattleBatchService(new BattleService(repo, resolver, registry), new SimpleAsyncTaskExecutor()),
+            registry, 0, 2);
+
+    private UUID create(String name, Job job) {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(job);
+        return UUID.fromString(characters.create(req).getId());
+    }
+
+    @Test
+    void ticksPairQueuedCharactersAndCarryTheRestOver() {
+        for (int i = 0; i < 5; i++) {
+            matchmaking.enqueue(create("Queued_Hero", i % 2 == 0 ? Job.WARRIOR : Job.MAGE));
+        }
+        assertEquals(5, matchmaking.queueSize());
+
+        // Two pairs per tick at most; the fifth character waits
+        assertEquals(2, matchmaking.tick());
+        assertEquals(1, matchmaking.queueSize());
+        assertEquals(2, repo.count(CharacterQuery.builder().alive(false).build()));
+        assertEquals(0, matchmaking.tick());
+
+        assertEquals(4, registry.timer("matchmaking.wait").count());
+        assertEquals(2, registry.summary("matchmaking.rating-gap").count());
+    }
+
+    @Test
+    void rejectsDuplicatesAndDeadOrUnknownCharacters() {
+        UUID a = create("First_Hero", Job.THIEF);
+        UUID b = create("Second_Hero", Job.THIEF);
+        matchmaking.enqueue(a);
+        assertThrows(IllegalStateException.class, () -> matchmaking.enqueue(a));
+        assertThrows(NoSuchElementException.class, () -> matchmaking.enqueue(UUID.randomUUID()));
+
+        matchmaking.enqueue(b);
+        matchmaking.tick();
+        UUID loser = repo.findById(a).orElseThrow().isAlive() ? b : a;
+        assertThrows(IllegalStateException.class, () -> matchmaking.enqueue(loser));
+        // The winner may queue again
+        matchmaking.enqueue(loser.equals(a) ? b : a);
+        assertEquals(1, matchmaking.queueSize());
+    }
+}
@@ -0,0 +1,67 @@
+package com.drapala.rpg.service.matchmaking;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.stats.JobRegistry;
+import com.drapala.rpg.service.stats.StatsCalculatorResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PowerRatingIndexTests {
+    private final InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+    private final StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+    private final PowerRatingIndex index = new PowerRatingIndex(repo, resolver, null);
+
+    private Character warrior(int hp) {
+        Character c = Character.builder()
+                .id(UUID.randomUUID())
+                .name("Rated_Hero")
+                .job(Job.WARRIOR)
+                .stats(Stats.builder().lifePoints(100).strength(10).dexterity(5).intelligence(5).build())
+                .build()
+                .withLifePoints(hp, true);
+        return repo.save(c);
+    }
+
+    @Test
+    void nearestWalksOutwardsFromTheRating() {
+        Character self = warrior(50);
+        Character close = warrior(52);
+        Character closer = warrior(49);
+        Character far = warrior(90);
+        index.rebuild();
+        assertEquals(4, index.size());
+
+        List<PowerRatingIndex.Entry> found = index.nearest(index.rating(self), self.getId(), 10, Long.MAX_VALUE);
+
+        assertEquals(List.of(closer.getId(), close.getId(), far.getId()), found.stream().map(PowerRatingIndex.Entry::id).toList());
+        long gap = index.rating(close) - index.rating(self);
+        assertEquals(2, index.nearest(index.rating(self), self.getId(), 10, gap).size());
+        assertEquals(1, index.nearest(index.rating(self), self.getId(), 1, Long.MAX_VALUE).size());
+    }
+
+    @Test
+    void deadCharactersLeaveAndStaleUpdatesAreIgnored() {
+        Character c = warrior(50);
+        index.update(c);
+        Character dead = c.withLifePoints(0, false).withVersion(1);
+        index.update(dead);
+        assertEquals(0, index.size());
+
+        // The creation snapshot arriving late must not bring the character back
+        index.update(c);
+        assertEquals(0, index.size());
+
+        Character wounded = warrior(30);
+        index.update(wounded);
+        index.update(wounded.withLifePoints(10, true).withVersion(1));
+        assertEquals(1, index.band(0, Long.MAX_VALUE).size());
+        assertEquals(index.rating(wounded.withLifePoints(10, true)), index.band(0, Long.MAX_VALUE).first().rating());
+    }
+}
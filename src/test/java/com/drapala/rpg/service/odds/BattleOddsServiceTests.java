@@ -0,0 +1,148 @@
+package com.drapala.rpg.service.odds;
+
+import com.drapala.rpg.dto.BattleOddsResponse;
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.exception.MatchupTooLargeException;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.CharacterService;
+import com.drapala.rpg.service.stats.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleOddsServiceTests {
+
+    private final InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+    private final StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+    private final CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver);
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final MonteCarloOddsCalculator monteCarlo = new MonteCarloOddsCalculator(pool);
+    private final ExactOddsCalculator exact = new ExactOddsCalculator();
+    private final BattleOddsService odds = new BattleOddsService(repo, resolver, List.of(monteCarlo, exact));
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private UUID create(String name, Job job) {
+        CreateCharacterRequest req = new CreateCharacterRequest();
+        req.setName(name);
+        req.setJob(job);
+        return UUID.fromString(characters.create(req).getId());
+    }
+
+    @Test
+    void guaranteedOneHitWinIsCertain() {
+        // Minimum damage 10 always kills the 5 HP defender before it can strike back
+        BattleOdds result = monteCarlo.odds(new Matchup(10, 20, 5, 5, 20, 1), 50_000);
+
+        assertEquals(1.0, result.getAttackerWinProbability());
+        assertEquals(10.0, result.getExpectedAttackerHp());
+        assertEquals(0.0, result.getExpectedDefenderHp());
+    }
+
+    @Test
+    void fasterSideStrikesFirstInMirrorMatch() {
+        BattleOdds slowAttacker = monteCarlo.odds(new Matchup(20, 6, 1, 20, 6, 2), 200_000);
+        BattleOdds fastAttacker = monteCarlo.odds(new Matchup(20, 6, 2, 20, 6, 1), 200_000);
+
+        assertTrue(slowAttacker.getAttackerWinProbability() < 0.5);
+        assertTrue(fastAttacker.getAttackerWinProbability() > 0.5);
+        assertEquals(1.0, slowAttacker.getAttackerWinProbability() + fastAttacker.getAttackerWinProbability(), 0.01);
+    }
+
+    @Test
+    void fewerTrialsThanChunksStillCountsEveryTrial() {
+        BattleOdds result = monteCarlo.odds(new Matchup(10, 20, 5, 5, 20, 1), 3);
+
+        assertEquals(1.0, result.getAttackerWinProbability());
+    }
+
+    @Test
+    void oddsDoNotChangeStoredCharacters() {
+        UUID a = create("Odds_Warrior", Job.WARRIOR);
+        UUID d = create("Odds_Mage", Job.MAGE);
+        long versionA = repo.findById(a).orElseThrow().getVersion();
+        long versionD = repo.findById(d).orElseThrow().getVersion();
+
+        BattleOddsResponse res = odds.odds(a, d, 10_000, OddsMethod.MONTE_CARLO);
+
+        assertEquals(10_000, res.getTrials());
+        assertEquals(1.0, res.getAttackerWinProbability() + res.getDefenderWinProbability(), 1e-9);
+        assertTrue(res.getExpectedAttackerHp() >= 0 && res.getExpectedDefenderHp() >= 0);
+        assertEquals(versionA, repo.findById(a).orElseThrow().getVersion());
+        assertEquals(versionD, repo.findById(d).orElseThrow().getVersion());
+        assertTrue(repo.findById(a).orElseThrow().isAlive());
+        assertTrue(repo.findById(d).orElseThrow().isAlive());
+    }
+
+    @Test
+    void sameCharacterIsRejected() {
+        UUID a = create("Odds_Solo", Job.THIEF);
+
+        assertThrows(IllegalStateException.class, () -> odds.odds(a, a, 100, OddsMethod.MONTE_CARLO));
+    }
+
+    @Test
+    void matchupWithoutDamageCannotFinish() {
+        assertFalse(new Matchup(10, 0, 1, 10, 0, 1).canFinish());
+        assertTrue(new Matchup(10, 0, 1, 10, 2, 1).canFinish());
+    }
+
+    @Test
+    void exactOddsMatchHandComputedCoinFlipDuel() {
+        // Both hit for 0 or 1 against 1 HP: P = 1/2 + 1/4 * P, so the first striker wins 2/3 of the time
+        BattleOdds result = exact.odds(new Matchup(1, 1, 2, 1, 1, 1), 0);
+
+        assertEquals(2.0 / 3, result.getAttackerWinProbability(), 1e-12);
+        assertEquals(2.0 / 3, result.getExpectedAttackerHp(), 1e-12);
+        assertEquals(1.0 / 3, result.getExpectedDefenderHp(), 1e-12);
+    }
+
+    @Test
+    void exactOddsAgreeWithSimulation() {
+        Matchup matchup = new Matchup(12, 13, 3, 20, 11, 4);
+
+        BattleOdds exactOdds = exact.odds(matchup, 0);
+        BattleOdds simulated = monteCarlo.odds(matchup, 1_000_000);
+
+        assertEquals(exactOdds.getAttackerWinProbability(), simulated.getAttackerWinProbability(), 0.005);
+        assertEquals(exactOdds.getExpectedAttackerHp(), simulated.getExpectedAttackerHp(), 0.05);
+        assertEquals(exactOdds.getExpectedDefenderHp(), simulated.getExpectedDefenderHp(), 0.05);
+    }
+
+    @Test
+    void exactOddsAreSymmetricInStrikeOrder() {
+        BattleOdds attackerFirst = exact.odds(new Matchup(15, 7, 9, 12, 13, 3), 0);
+        BattleOdds defenderFirst = exact.odds(new Matchup(12, 13, 3, 15, 7, 9), 0);
+
+        assertEquals(attackerFirst.getAttackerWinProbability(), 1.0 - defenderFirst.getAttackerWinProbability(), 1e-12);
+        assertEquals(attackerFirst.getExpectedAttackerHp(), defenderFirst.getExpectedDefenderHp(), 1e-12);
+    }
+
+    @Test
+    void exactOddsRejectMatchupsAboveTheStateBound() {
+        // 501 x 501 states is just over the bound; 498 x 500 is just under it
+        assertThrows(MatchupTooLargeException.class, () -> exact.odds(new Matchup(500, 40, 9, 500, 40, 3), 0));
+        assertDoesNotThrow(() -> exact.odds(new Matchup(497, 40, 9, 499, 40, 3), 0));
+    }
+
+    @Test
+    void exactOddsThroughServiceOmitTrials() {
+        UUID a = create("Exact_Thief", Job.THIEF);
+        UUID d = create("Exact_Mage", Job.MAGE);
+
+        BattleOddsResponse res = odds.odds(a, d, 10_000, OddsMethod.EXACT);
+
+        assertEquals(OddsMethod.EXACT, res.getMethod());
+        assertNull(res.getTrials());
+        assertTrue(res.getAttackerWinProbability() > 0 && res.getAttackerWinProbability() < 1);
+    }
+}
@@ -0,0 +1,46 @@
+package com.drapala.rpg.service.odds;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.service.stats.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchupTableTests {
+    private final StatsFactory statsFactory = new StatsFactory();
+    private final StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+    private final ExactOddsCalculator exact = new ExactOddsCalculator();
+    private final MatchupTable table = new MatchupTable(statsFactory, resolver, exact);
+
+    private Character fresh(Job job) {
+        return Character.builder().id(UUID.randomUUID()).name("Fresh_Hero").job(job).stats(statsFactory.createForJob(job)).build();
+    }
+
+    @Test
+    void tableMatchesOnTheFlyExactOdds() {
+        List<Job> jobs = statsFactory.jobs();
+        assertEquals(jobs.size() * jobs.size(), table.all().size());
+        for (Job a : jobs) {
+            for (Job d : jobs) {
+                MatchupTable.Entry e = table.lookup(fresh(a), fresh(d));
+                assertNotNull(e);
+                Matchup m = new BattleOddsService(null, resolver, List.of(exact)).matchup(fresh(a), fresh(d));
+                assertEquals(m, e.getMatchup());
+                assertEquals(exact.odds(m, 0).getAttackerWinProbability(), e.getOdds().getAttackerWinProbability(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void woundedOrCustomCharactersAreNotLookedUp() {
+        Character warrior = fresh(Job.WARRIOR);
+        assertNull(table.lookup(warrior.withLifePoints(3, true), fresh(Job.MAGE)));
+        Character custom = Character.builder().id(UUID.randomUUID()).name("Custom_Hero").job(Job.MAGE)
+                .stats(statsFactory.createForJob(Job.WARRIOR)).build();
+        assertNull(table.lookup(warrior, custom));
+    }
+}
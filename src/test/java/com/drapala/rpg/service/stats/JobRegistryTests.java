@@ -0,0 +1,144 @@
+package com.drapala.rpg.service.stats;
+
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobRegistryTests {
+
+    private static JobRegistry registry(String json) {
+        return new JobRegistry(new ByteArrayResource(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String job(String name, String attack, String speed) {
+        return """
+                {"name": "%s",
+                 "baseStats": {"lifePoints": 18, "strength": 9, "dexterity": 4, "intelligence": 7},
+                 "attack": %s, "speed": %s}
+                """.formatted(name, attack, speed);
+    }
+
+    /** The built-in jobs, which every definitions file must cover, then {@code extra}. */
+    private static String withBuiltIns(String... extra) {
+        String formula = "{\"strength\": 1}";
+        StringBuilder json = new StringBuilder("[")
+                .append(job("WARRIOR", formula, formula)).append(',')
+                .append(job("THIEF", formula, formula)).append(',')
+                .append(job("MAGE", formula, formula));
+        for (String definition : extra) {
+            json.append(',').append(definition);
+        }
+        return json.append(']').toString();
+    }
+
+    @Test
+    void bundledJobsKeepTheOriginalStatsAndFormulas() {
+        JobRegistry jobs = JobRegistry.defaults();
+        StatsFactory factory = new StatsFactory(jobs);
+        assertEquals(List.of(Job.WARRIOR, Job.THIEF, Job.MAGE), factory.jobs());
+        assertEquals(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build(), factory.createForJob(Job.WARRIOR));
+        assertEquals(Stats.builder().lifePoints(15).strength(4).dexterity(10).intelligence(4).build(), factory.createForJob(Job.THIEF));
+        assertEquals(Stats.builder().lifePoints(12).strength(5).dexterity(6).intelligence(10).build(), factory.createForJob(Job.MAGE));
+
+        Map<Job, StatsCalculator> reference = Map.of(
+                Job.WARRIOR, new WarriorStatsCalculator(),
+                Job.THIEF, new ThiefStatsCalculator(),
+                Job.MAGE, new MageStatsCalculator());
+        StatsCalculatorResolver compiled = new StatsCalculatorResolver(jobs);
+        reference.forEach((job, expected) -> {
+            StatsCalculator actual = compiled.forJob(job);
+            for (int str = 0; str <= 40; str++) {
+                for (int dex = 0; dex <= 40; dex++) {
+                    for (int intel = 0; intel <= 40; intel++) {
+                        Stats s = Stats.builder().lifePoints(1).strength(str).dexterity(dex).intelligence(intel).build();
+                        assertEquals(expected.attack(s), actual.attack(s), () -> job + " attack " + s);
+                        assertEquals(expected.speed(s), actual.speed(s), () -> job + " speed " + s);
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    void aNewJobNeedsOnlyADefinition() {
+        JobRegistry jobs = registry(withBuiltIns(job("REGISTRY_TEST_PALADIN",
+                "{\"strength\": 0.5, \"intelligence\": 0.75}", "{\"dexterity\": 1.5}")));
+        Job paladin = jobs.job("REGISTRY_TEST_PALADIN");
+        assertSame(paladin, jobs.definitions().get(3).getJob());
+        assertEquals(3, paladin.ordinal());
+        assertSame(paladin, jobs.job(3));
+
+        Stats base = new StatsFactory(jobs).createForJob(paladin);
+        assertEquals(18, base.getLifePoints());
+        StatsCalculator calc = new StatsCalculatorResolver(jobs).forJob(paladin);
+        assertEquals(9, calc.attack(base));  // floor(4.5 + 5.25)
+        assertEquals(6, calc.speed(base));   // floor(6.0)
+        assertThrows(IllegalArgumentException.class, () -> JobRegistry.defaults().definition(paladin));
+    }
+
+    @Test
+    void dataDefinedJobsStayInTheirRegistry() {
+        JobRegistry jobs = registry(withBuiltIns(job("REGISTRY_TEST_DRUID", "{\"intelligence\": 1}", "{\"dexterity\": 1}")));
+        assertEquals(4, jobs.count());
+
+        assertThrows(IllegalArgumentException.class, () -> Job.valueOf("REGISTRY_TEST_DRUID"));
+        assertThrows(IllegalArgumentException.class, () -> JobRegistry.defaults().job("REGISTRY_TEST_DRUID"));
+        assertEquals(3, JobRegistry.defaults().count());
+        assertSame(Job.WARRIOR, jobs.job("WARRIOR"));
+    }
+
+    @Test
+    void doubleArithmeticGivesTheSameStats() {
+        StatsCalculatorResolver fixedPoint = new StatsCalculatorResolver(JobRegistry.defaults());
+        StatsCalculatorResolver doubles = new StatsCalculatorResolver(
+                new JobRegistry(new ClassPathResource("jobs.json"), StatsArithmetic.DOUBLE));
+        for (Job job : List.of(Job.WARRIOR, Job.THIEF, Job.MAGE)) {
+            for (int v = 0; v <= 255; v++) {
+                Stats s = Stats.builder().lifePoints(1).strength(v).dexterity(v / 2).intelligence(255 - v).build();
+                assertEquals(doubles.forJob(job).attack(s), fixedPoint.forJob(job).attack(s));
+                assertEquals(doubles.forJob(job).speed(s), fixedPoint.forJob(job).speed(s));
+            }
+        }
+    }
+
+    @Test
+    void everyBuiltInJobMustBeDefined() {
+        String formula = "{\"strength\": 1}";
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class, () -> registry("["
+                + job("WARRIOR", formula, formula) + "," + job("THIEF", formula, formula) + ","
+                + job("REGISTRY_TEST_BARD", formula, formula) + "]"));
+        assertEquals("No definition for built-in job MAGE", missing.getMessage());
+        assertEquals(3, registry(withBuiltIns()).definitions().size());
+    }
+
+    @Test
+    void attributesAreNotCapped() {
+        String strong = job("REGISTRY_TEST_GIANT", "{\"strength\": 1.5}", "{\"dexterity\": 1}")
+                .replace("\"strength\": 9", "\"strength\": 100000");
+        JobRegistry jobs = registry(withBuiltIns(strong));
+        JobDefinition giant = jobs.definition(jobs.job("REGISTRY_TEST_GIANT"));
+        assertEquals(150_000, giant.getCalculator().attack(giant.getBaseStats()));
+    }
+
+    @Test
+    void invalidDefinitionsAreRejected() {
+        String valid = "{\"strength\": 1}";
+        assertThrows(IllegalArgumentException.class, () -> registry("[]"));
+        assertThrows(IllegalArgumentException.class, () -> registry("[" + job("", valid, valid) + "]"));
+        assertThrows(IllegalArgumentException.class, () -> registry("[" + job("WARRIOR", "{\"charisma\": 1}", valid) + "]"));
+        assertThrows(IllegalArgumentException.class, () -> registry("[" + job("WARRIOR", "{\"strength\": -0.5}", valid) + "]"));
+        assertThrows(IllegalArgumentException.class, () -> registry("[" + job("WARRIOR", "{\"strength\": 0.12345}", valid) + "]"));
+        assertThrows(IllegalArgumentException.class, () -> registry("[" + job("WARRIOR", "{}", valid) + "]"));
+        assertThrows(IllegalArgumentException.class, () -> registry("[" + job("WARRIOR", valid, valid).replace("\"strength\": 9", "\"strength\": -1") + "]"));
+        assertThrows(IllegalArgumentException.class, () -> registry("[" + job("WARRIOR", valid, valid) + "," + job("WARRIOR", valid, valid) + "]"));
+        assertThrows(IllegalArgumentException.class, () -> Job.valueOf("NOT_A_JOB"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.drapala.rpg.service.stats;
+
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Fixed-point formulas against the double formulas, exhaustively over 0-255 and sampled beyond. */
+class LinearStatFormulaTests {
+    private static final int MAX = 255;
+
+    private static Stats stats(int str, int dex, int intel) {
+        return Stats.builder().lifePoints(1).strength(str).dexterity(dex).intelligence(intel).build();
+    }
+
+    @Test
+    void bundledJobsMatchTheOriginalCalculatorsOverTheWholeStatRange() {
+        StatsCalculatorResolver fixedPoint = new StatsCalculatorResolver(JobRegistry.defaults());
+        Map<Job, StatsCalculator> original = Map.of(
+                Job.WARRIOR, new WarriorStatsCalculator(),
+                Job.THIEF, new ThiefStatsCalculator(),
+                Job.MAGE, new MageStatsCalculator());
+        original.forEach((job, expected) -> {
+            StatsCalculator actual = fixedPoint.forJob(job);
+            long mismatches = 0;
+            for (int str = 0; str <= MAX; str++) {
+                for (int dex = 0; dex <= MAX; dex++) {
+                    for (int intel = 0; intel <= MAX; intel++) {
+                        Stats s = stats(str, dex, intel);
+                        if (expected.attack(s) != actual.attack(s) || expected.speed(s) != actual.speed(s)) {
+                            mismatches++;
+                        }
+                    }
+                }
+            }
+            assertEquals(0, mismatches, job + " differs from its original calculator");
+        });
+    }
+
+    @Test
+    void everyOneDecimalCoefficientPairMatchesDoubles() {
+        for (int a = 1; a < 20; a++) {
+            for (int b = 1; b < 20; b++) {
+                Map<String, BigDecimal> terms = new LinkedHashMap<>();
+                terms.put("dexterity", BigDecimal.valueOf(a, 1));
+                terms.put("intelligence", BigDecimal.valueOf(b, 1));
+                LinearStatFormula formula = LinearStatFormula.compile(terms);
+                for (int dex = 0; dex <= MAX; dex++) {
+                    for (int intel = 0; intel <= MAX; intel++) {
+                        Stats s = stats(0, dex, intel);
+                        if (formula.apply(s) != formula.applyDouble(s)) {
+                            fail(terms + " at dexterity " + dex + ", intelligence " + intel);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void binaryExactCoefficientsMatchDoubles() {
+        Map<String, BigDecimal> terms = new LinkedHashMap<>();
+        terms.put("strength", new BigDecimal("0.25"));
+        terms.put("dexterity", new BigDecimal("1.5"));
+        terms.put("intelligence", new BigDecimal("0.125"));
+        LinearStatFormula formula = LinearStatFormula.compile(terms);
+        for (int str = 0; str <= MAX; str++) {
+            for (int dex = 0; dex <= MAX; dex += 3) {
+                for (int intel = 0; intel <= MAX; intel++) {
+                    Stats s = stats(str, dex, intel);
+                    if (formula.apply(s) != formula.applyDouble(s)) {
+                        fail(terms + " at " + s);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void largeAttributesMatchDoubles() {
+        SplittableRandom random = new SplittableRandom(20);
+        for (int f = 0; f < 200; f++) {
+            Map<String, BigDecimal> terms = new LinkedHashMap<>();
+            terms.put("strength", BigDecimal.valueOf(random.nextInt(10_000), 4));
+            terms.put("dexterity", BigDecimal.valueOf(random.nextInt(1_000), 1));
+            terms.put("intelligence", BigDecimal.valueOf(random.nextInt(100), 2));
+            LinearStatFormula formula = LinearStatFormula.compile(terms);
+            for (int i = 0; i < 5_000; i++) {
+                int bound = i % 2 == 0 ? 1_000_000 : Integer.MAX_VALUE;
+                Stats s = stats(random.nextInt(bound), random.nextInt(bound), random.nextInt(bound));
+                if (formula.apply(s) != formula.applyDouble(s)) {
+                    fail(terms + " at " + s);
+                }
+            }
+            // Whole sums above the product tables: 0 * x and multiples of the scale
+            Stats whole = stats(10_000 * (MAX + 1 + f), 10 * (MAX + 1 + f), 100 * (MAX + 1 + f));
+            assertEquals(formula.applyDouble(whole), formula.apply(whole), () -> terms + " at " + whole);
+        }
+    }
+
+    @Test
+    void wholeSumsFollowTheDoubleRounding() {
+        Map<String, BigDecimal> terms = new LinkedHashMap<>();
+        terms.put("dexterity", new BigDecimal("0.6"));
+        terms.put("intelligence", new BigDecimal("0.2"));
+        LinearStatFormula speed = LinearStatFormula.compile(terms);
+        // 0.6 * 3 + 0.2 * 1 is 1.9999999999999998 in doubles, so the original warrior speed is 1, not 2
+        assertEquals(1, speed.apply(stats(0, 3, 1)));
+        assertEquals(new WarriorStatsCalculator().speed(stats(0, 3, 1)), speed.apply(stats(0, 3, 1)));
+        assertEquals(4, speed.apply(stats(0, 5, 5)));
+    }
+}
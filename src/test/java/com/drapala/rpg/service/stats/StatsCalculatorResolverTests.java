@@ -0,0 +1,43 @@
+package com.drapala.rpg.service.stats;
+
+import com.drapala.rpg.model.Character;
+import com.drapala.rpg.model.DerivedStats;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.Stats;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsCalculatorResolverTests {
+
+    @Test
+    void derivedStatsAreComputedOncePerCharacter() {
+        StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+        Character c = warrior();
+
+        DerivedStats first = resolver.derived(c);
+        assertEquals(9, first.getAttack());
+        assertEquals(new WarriorStatsCalculator().speed(c.getStats()), first.getSpeed());
+
+        // Later snapshots of the same character reuse the memo
+        Character wounded = c.withLifePoints(3, true).withVersion(4);
+        assertSame(first, resolver.derived(wounded));
+
+        // A memo already on the snapshot is never recomputed
+        Character memoized = warrior();
+        DerivedStats memo = new DerivedStats(1, 2);
+        memoized.derived(ignored -> memo);
+        assertSame(memo, resolver.derived(memoized));
+    }
+
+    private static Character warrior() {
+        return Character.builder()
+                .id(UUID.randomUUID())
+                .name("Arthur_Hero")
+                .job(Job.WARRIOR)
+                .stats(Stats.builder().lifePoints(20).strength(10).dexterity(5).intelligence(5).build())
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.drapala.rpg.service.tournament;
+
+import com.drapala.rpg.dto.CreateCharacterRequest;
+import com.drapala.rpg.dto.TournamentResponse;
+import com.drapala.rpg.dto.TournamentStanding;
+import com.drapala.rpg.model.Job;
+import com.drapala.rpg.model.TournamentFormat;
+import com.drapala.rpg.repository.InMemoryCharacterRepository;
+import com.drapala.rpg.service.BattleService;
+import com.drapala.rpg.service.CharacterService;
+import com.drapala.rpg.service.stats.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentServiceTests {
+    private static final Job[] JOBS = {Job.WARRIOR, Job.THIEF, Job.MAGE};
+
+    private final InMemoryCharacterRepository repo = new InMemoryCharacterRepository();
+    private final StatsCalculatorResolver resolver = new StatsCalculatorResolver(JobRegistry.defaults());
+    private final CharacterService characters = new CharacterService(repo, new StatsFactory(), resolver);
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final TournamentService tournaments = new TournamentService(repo, resolver, pool, new SimpleMeterRegistry());
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private List<UUID> entrants(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CreateCharacterRequest req = new CreateCharacterRequest();
+            req.setName("Entrant_" + (char) ('A' + i % 26));
+            req.setJob(JOBS[i % JOBS.length]);
+            ids.add(UUID.fromString(characters.create(req).getId()));
+        }
+        return ids;
+    }
+
+    @Test
+    void singleEliminationPlaysOneMatchPerEliminatedEntrant() {
+        List<UUID> ids = entrants(37);
+
+        TournamentResponse res = tournaments.run(ids, TournamentFormat.SINGLE_ELIMINATION);
+
+        assertEquals(36, res.getMatches());
+        assertEquals(6, res.getRounds());
+        assertEquals(37, res.getStandings().size());
+        TournamentStanding top = res.getStandings().get(0);
+        assertEquals(res.getWinnerId(), top.getCharacterId());
+        assertEquals(0, top.getLosses());
+        assertEquals(36, res.getStandings().stream().mapToInt(TournamentStanding::getLosses).sum());
+        // Exhibition bouts leave stored characters untouched
+        ids.forEach(id -> assertTrue(repo.findById(id).orElseThrow().isAlive()));
+    }
+
+    @Test
+    void roundRobinPlaysEveryPairOnce() {
+        List<UUID> ids = entrants(9);
+
+        TournamentResponse res = tournaments.run(ids, TournamentFormat.ROUND_ROBIN);
+
+        assertEquals(9 * 8 / 2, res.getMatches());
+        assertEquals(9, res.getRounds());
+        for (TournamentStanding s : res.getStandings()) {
+            assertEquals(8, s.getWins() + s.getLosses());
+        }
+        assertEquals(res.getStandings().get(0).getCharacterId(), res.getWinnerId());
+    }
+
+    @Test
+    void matchesRollDamageThroughTheBattleServiceDamageModel() {
+        AtomicInteger rolls = new AtomicInteger();
+        BattleService battles = new BattleService(repo, resolver, new SimpleMeterRegistry()) {
+            @Override
+            protected int calculateDamage(int attack) {
+                rolls.incrementAndGet();
+                return Integer.MAX_VALUE;
+            }
+        };
+        TournamentService withBattles = new TournamentService(repo, resolver, pool, new SimpleMeterRegistry(), battles);
+
+        TournamentResponse res = withBattles.run(entrants(6), TournamentFormat.ROUND_ROBIN);
+
+        // Every match ends on its first, overridden blow
+        assertEquals(res.getMatches(), rolls.get());
+    }
+
+    @Test
+    void duplicateEntrantsAreRejected() {
+        UUID id = entrants(1).get(0);
+        assertThrows(IllegalStateException.class,
+                () -> tournaments.run(List.of(id, id), TournamentFormat.ROUND_ROBIN));
+    }
+}